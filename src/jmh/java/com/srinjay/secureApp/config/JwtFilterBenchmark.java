@@ -0,0 +1,104 @@
+package com.srinjay.secureApp.config;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.support.StaticApplicationContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.srinjay.secureApp.model.UserPrincipal;
+import com.srinjay.secureApp.model.Users;
+import com.srinjay.secureApp.service.AuthMetrics;
+import com.srinjay.secureApp.service.JWTService;
+import com.srinjay.secureApp.service.MyUserDetailsService;
+import com.srinjay.secureApp.service.TokenRevocationService;
+import com.srinjay.secureApp.service.UserTokenDenylist;
+import com.srinjay.secureApp.service.VerifiedTokenCache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+
+/**
+ * One authenticated request through JwtFilter, against mock servlet objects and a user
+ * lookup that never reaches a database. Compares the verified-token cache on/off and
+ * database mode against claims-only (stateless) mode.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtFilterBenchmark {
+
+	@Param({ "false", "true" })
+	private boolean tokenCache;
+
+	@Param({ "false", "true" })
+	private boolean statelessAuth;
+
+	private JwtFilter filter;
+	private MockHttpServletRequest request;
+	private MockHttpServletResponse response;
+	private final FilterChain chain = (request, response) -> { };
+
+	@Setup
+	public void setUp() {
+		JWTService jwtService = new JWTService();
+		Users user = new Users();
+		user.setId(1);
+		user.setUsername("srinjay");
+		user.setPassword("");
+		UserPrincipal principal = new UserPrincipal(user);
+
+		// User lookup that always hits, like a warm user cache
+		MyUserDetailsService userDetailsService = new MyUserDetailsService(10, Duration.ofMinutes(5), 10,
+				Duration.ofSeconds(30), Set.of()) {
+			@Override
+			public UserDetails findUser(String username) {
+				return principal;
+			}
+		};
+		StaticApplicationContext context = new StaticApplicationContext();
+		context.getBeanFactory().registerSingleton("userDetailsService", userDetailsService);
+		context.refresh();
+
+		filter = new JwtFilter();
+		ReflectionTestUtils.setField(filter, "jwtService", jwtService);
+		ReflectionTestUtils.setField(filter, "tokenCache", new VerifiedTokenCache(tokenCache, 100_000, 32 * 1024 * 1024));
+		ReflectionTestUtils.setField(filter, "tokenRevocations",
+				new TokenRevocationService(new UserTokenDenylist(Duration.ofMinutes(10), 1000), null, 1000));
+		ReflectionTestUtils.setField(filter, "metrics", new AuthMetrics(new SimpleMeterRegistry()));
+		ReflectionTestUtils.setField(filter, "statelessAuth", statelessAuth);
+		ReflectionTestUtils.setField(filter, "context", context);
+
+		request = new MockHttpServletRequest("GET", "/students");
+		request.addHeader("Authorization", "Bearer " + jwtService.generateToken(principal));
+		response = new MockHttpServletResponse();
+	}
+
+	@Benchmark
+	public Authentication authenticatedRequest() throws Exception {
+		SecurityContextHolder.clearContext();
+		filter.doFilter(request, response, chain);
+		return SecurityContextHolder.getContext().getAuthentication();
+	}
+
+}
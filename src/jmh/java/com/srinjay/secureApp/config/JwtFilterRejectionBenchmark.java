@@ -0,0 +1,101 @@
+package com.srinjay.secureApp.config;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.srinjay.secureApp.model.UserPrincipal;
+import com.srinjay.secureApp.model.Users;
+import com.srinjay.secureApp.service.AuthMetrics;
+import com.srinjay.secureApp.service.JWTService;
+import com.srinjay.secureApp.service.TokenRevocationService;
+import com.srinjay.secureApp.service.UserTokenDenylist;
+import com.srinjay.secureApp.service.VerifiedTokenCache;
+
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+
+/**
+ * Cost of one rejected request through JwtFilter, by kind of bad token, next to the
+ * cost of letting jjwt parse the same token and throw (the path every rejected token
+ * took before the pre-check). public_endpoint sends a garbage token to /login, which
+ * the filter skips.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtFilterRejectionBenchmark {
+
+	@Param({ "malformed", "expired", "bad_signature", "public_endpoint" })
+	private String kind;
+
+	private JwtFilter filter;
+	private JWTService jwtService;
+	private String token;
+	private MockHttpServletRequest request;
+	private final FilterChain chain = (request, response) -> { };
+
+	@Setup
+	public void setUp() {
+		jwtService = new JWTService();
+		Users user = new Users();
+		user.setUsername("srinjay");
+		String valid = jwtService.generateToken(new UserPrincipal(user));
+		String expired = Jwts.builder().subject("srinjay").expiration(new Date(System.currentTimeMillis() - 60_000))
+				.signWith(Jwts.SIG.HS256.key().build()).compact();
+
+		token = switch (kind) {
+			case "expired" -> expired;
+			case "bad_signature" -> valid.substring(0, valid.lastIndexOf('.')) + expired.substring(expired.lastIndexOf('.'));
+			default -> "not-a-token";
+		};
+
+		filter = new JwtFilter();
+		ReflectionTestUtils.setField(filter, "jwtService", jwtService);
+		ReflectionTestUtils.setField(filter, "tokenCache", new VerifiedTokenCache(false, 0, 0));
+		ReflectionTestUtils.setField(filter, "tokenRevocations",
+				new TokenRevocationService(new UserTokenDenylist(Duration.ofMinutes(10), 1000), null, 1000));
+		ReflectionTestUtils.setField(filter, "metrics", new AuthMetrics(new SimpleMeterRegistry()));
+
+		request = new MockHttpServletRequest(kind.equals("public_endpoint") ? "POST" : "GET",
+				kind.equals("public_endpoint") ? "/login" : "/students");
+		request.addHeader("Authorization", "Bearer " + token);
+	}
+
+	@Benchmark
+	public int rejectedRequest() throws Exception {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		filter.doFilter(request, response, chain);
+		return response.getStatus();
+	}
+
+	@Benchmark
+	public Object jjwtParseAndThrow() {
+		try {
+			return jwtService.verify(token);
+		} catch (JwtException | IllegalArgumentException e) {
+			return e;
+		}
+	}
+
+}
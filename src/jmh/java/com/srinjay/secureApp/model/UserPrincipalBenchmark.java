@@ -0,0 +1,52 @@
+package com.srinjay.secureApp.model;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+/**
+ * Cost (mostly allocation) of building a principal, as done for every user lookup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserPrincipalBenchmark {
+
+	private Users user;
+	private List<GrantedAuthority> adminAuthorities;
+
+	@Setup
+	public void setUp() {
+		user = new Users();
+		user.setId(1);
+		user.setUsername("srinjay");
+		user.setPassword("$2a$12$abcdefghijklmnopqrstuv");
+		adminAuthorities = List.of(new SimpleGrantedAuthority("USER"), new SimpleGrantedAuthority("ADMIN"));
+	}
+
+	@Benchmark
+	public UserPrincipal defaultAuthorities() {
+		return new UserPrincipal(user);
+	}
+
+	@Benchmark
+	public UserPrincipal sharedAuthorities() {
+		return new UserPrincipal(user, adminAuthorities);
+	}
+
+}
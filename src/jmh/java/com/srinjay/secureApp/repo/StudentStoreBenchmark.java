@@ -0,0 +1,90 @@
+package com.srinjay.secureApp.repo;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.srinjay.secureApp.model.Student;
+
+/**
+ * InMemoryStudentStore against the plain list it replaced: lookup by id and a narrow
+ * marks range, at a few store sizes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StudentStoreBenchmark {
+
+	@Param({ "1000", "100000" })
+	private int students;
+
+	private InMemoryStudentStore store;
+	private List<Student> list;
+
+	@Setup
+	public void setUp() {
+		store = new InMemoryStudentStore();
+		list = new ArrayList<>();
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		for (int id = 1; id <= students; id++) {
+			Student student = new Student(id, "student" + id, random.nextInt(101));
+			store.save(student);
+			list.add(student);
+		}
+	}
+
+	@Benchmark
+	public Student storeFindById() {
+		return store.findById(ThreadLocalRandom.current().nextInt(1, students + 1)).orElse(null);
+	}
+
+	@Benchmark
+	public Student listFindById() {
+		int id = ThreadLocalRandom.current().nextInt(1, students + 1);
+		for (Student student : list) {
+			if (student.getId() == id) {
+				return student;
+			}
+		}
+		return null;
+	}
+
+	@Benchmark
+	public List<Student> storeFindByMarks() {
+		return store.findByMarksBetween(99, 100);
+	}
+
+	@Benchmark
+	public List<Student> listFindByMarks() {
+		List<Student> result = new ArrayList<>();
+		for (Student student : list) {
+			if (student.getMarks() >= 99 && student.getMarks() <= 100) {
+				result.add(student);
+			}
+		}
+		return result;
+	}
+
+	@Benchmark
+	public Student storeSave() {
+		int id = ThreadLocalRandom.current().nextInt(1, students + 1);
+		return store.save(new Student(id, "student" + id, ThreadLocalRandom.current().nextInt(101)));
+	}
+
+}
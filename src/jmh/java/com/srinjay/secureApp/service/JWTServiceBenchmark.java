@@ -0,0 +1,74 @@
+package com.srinjay.secureApp.service;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.srinjay.secureApp.model.UserPrincipal;
+import com.srinjay.secureApp.model.Users;
+import com.srinjay.secureApp.model.VerifiedToken;
+
+/**
+ * Token issue and verification costs (HMAC signing/verifying plus JSON claims).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JWTServiceBenchmark {
+
+	private JWTService jwtService;
+	private UserPrincipal principal;
+	private String token;
+	private VerifiedToken verified;
+
+	@Setup
+	public void setUp() {
+		jwtService = new JWTService();
+		Users user = new Users();
+		user.setId(1);
+		user.setUsername("srinjay");
+		user.setPassword("");
+		principal = new UserPrincipal(user);
+		token = jwtService.generateToken(principal);
+		verified = jwtService.verify(token);
+	}
+
+	@Benchmark
+	public String generateToken() {
+		return jwtService.generateToken(principal);
+	}
+
+	@Benchmark
+	public String extractUserName() {
+		return jwtService.extractUserName(token);
+	}
+
+	@Benchmark
+	public boolean validateToken() {
+		return jwtService.validateToken(token, principal);
+	}
+
+	// What JwtFilter does: verify once, then validate the parsed result
+	@Benchmark
+	public VerifiedToken verify() {
+		return jwtService.verify(token);
+	}
+
+	@Benchmark
+	public boolean validateVerifiedToken() {
+		return jwtService.validateToken(verified, principal);
+	}
+
+}
@@ -0,0 +1,53 @@
+package com.srinjay.secureApp.service;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * BCrypt at a given strength (override with -p strength=...; the app hashes at
+ * app.password.bcrypt.strength, see PasswordEncoderConfig).
+ * Each call takes tens to hundreds of milliseconds, so iterations are few but long.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+public class PasswordEncoderBenchmark {
+
+	@Param({ "12" })
+	private int strength;
+
+	private BCryptPasswordEncoder encoder;
+	private String encoded;
+
+	@Setup
+	public void setUp() {
+		encoder = new BCryptPasswordEncoder(strength);
+		encoded = encoder.encode("s3cret-password");
+	}
+
+	@Benchmark
+	public String encode() {
+		return encoder.encode("s3cret-password");
+	}
+
+	@Benchmark
+	public boolean matches() {
+		return encoder.matches("s3cret-password", encoded);
+	}
+
+}
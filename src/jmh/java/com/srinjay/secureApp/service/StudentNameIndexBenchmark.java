@@ -0,0 +1,68 @@
+package com.srinjay.secureApp.service;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.srinjay.secureApp.model.Student;
+
+/**
+ * Name search over a large index (one million students by default): a word prefix,
+ * a substring in the middle of a word, and a query that matches nothing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class StudentNameIndexBenchmark {
+
+	private static final String[] FIRST = { "Srinjay", "Moumita", "Rohan", "Ananya", "Vikram", "Priya", "Arjun",
+			"Kavya", "Ishaan", "Meera" };
+	private static final String[] LAST = { "Sen", "Das", "Roy", "Ghosh", "Bose", "Sharma", "Iyer", "Khan", "Nair",
+			"Patel" };
+
+	@Param({ "1000000" })
+	private int students;
+
+	private StudentNameIndex index;
+
+	@Setup
+	public void setUp() {
+		index = new StudentNameIndex();
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		for (int id = 1; id <= students; id++) {
+			String name = FIRST[random.nextInt(FIRST.length)] + id + " " + LAST[random.nextInt(LAST.length)];
+			index.put(new Student(id, name, random.nextInt(101)));
+		}
+	}
+
+	@Benchmark
+	public List<Student> prefix() {
+		return index.search("srinjay12", 20);
+	}
+
+	@Benchmark
+	public List<Student> substring() {
+		return index.search("inja", 20);
+	}
+
+	@Benchmark
+	public List<Student> noMatch() {
+		return index.search("zzqx", 20);
+	}
+
+}
@@ -11,10 +11,14 @@ import org.springframework.security.config.annotation.authentication.configurati
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 
 /**
  * AppSecurityConfig defines the security configuration for the application.
@@ -29,9 +33,25 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 @EnableWebSecurity
 public class AppSecurityConfig {
 
+    /**
+     * Endpoints reachable without a token: /register, /login and /refresh, plus the
+     * actuator health and Prometheus scrape endpoints for probes and metrics.
+     * JwtFilter skips exactly the requests this matcher accepts, so both agree on
+     * paths such as "/login/" or "/login;x".
+     */
+    static final RequestMatcher PUBLIC_ENDPOINTS = new OrRequestMatcher(
+            PathPatternRequestMatcher.withDefaults().matcher("/register"),
+            PathPatternRequestMatcher.withDefaults().matcher("/login"),
+            PathPatternRequestMatcher.withDefaults().matcher("/refresh"),
+            PathPatternRequestMatcher.withDefaults().matcher("/actuator/health"),
+            PathPatternRequestMatcher.withDefaults().matcher("/actuator/prometheus"));
+
     @Autowired
     private UserDetailsService userDetailsService; // Custom user details service (loads users from DB)
 
+    @Autowired
+    private PasswordEncoder passwordEncoder; // Shared BCrypt (see PasswordEncoderConfig)
+
     @Autowired
     private JwtFilter jwtFilter; // Our custom filter that validates JWT tokens
 
@@ -39,7 +59,8 @@ public class AppSecurityConfig {
      * Defines the security filter chain.
      * 
      * - Disables CSRF (not needed for stateless REST APIs)
-     * - Permits /register and /login without authentication
+     * - Permits the PUBLIC_ENDPOINTS without authentication
+     * - Restricts /admin/** to users with the ADMIN authority
      * - Requires authentication for all other endpoints
      * - Sets session policy to STATELESS (every request must include JWT)
      * - Adds JwtFilter before UsernamePasswordAuthenticationFilter so JWT is validated first
@@ -48,10 +69,12 @@ public class AppSecurityConfig {
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http.csrf(csrf -> csrf.disable()) // disable CSRF for APIs
             .authorizeHttpRequests(auth -> auth
-                .requestMatchers("/register", "/login").permitAll() // public endpoints
+                .requestMatchers(PUBLIC_ENDPOINTS).permitAll() // login, registration, probes and metrics scraping
+                .requestMatchers("/admin/**").hasAuthority("ADMIN") // token revocation etc.
                 .anyRequest().authenticated() // all others need authentication
             )
             .httpBasic(Customizer.withDefaults()) // optional: allows basic auth (mainly for testing)
+            .logout(logout -> logout.disable()) // /logout is handled by UserController (token revocation)
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS)) // no sessions
             .addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class); // add JWT filter
 
@@ -62,13 +85,17 @@ public class AppSecurityConfig {
      * Defines the authentication provider.
      * 
      * - Uses DaoAuthenticationProvider (fetches user details from DB via UserDetailsService)
-     * - Uses BCrypt for password encoding/validation
+     * - Uses the shared BCrypt PasswordEncoder for password validation
+     * - Re-encodes a stored hash after a successful login when its strength is out of date
      */
     @Bean
     public AuthenticationProvider authenticationProvider() {
         DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
-        provider.setPasswordEncoder(new BCryptPasswordEncoder(12)); // password hashing
+        provider.setPasswordEncoder(passwordEncoder); // password hashing
         provider.setUserDetailsService(userDetailsService); // load users from DB
+        if (userDetailsService instanceof UserDetailsPasswordService passwordService) {
+            provider.setUserDetailsPasswordService(passwordService); // stores upgraded hashes
+        }
         return provider;
     }
 
@@ -0,0 +1,32 @@
+package com.srinjay.secureApp.config;
+
+import org.springframework.boot.web.servlet.ServletContextInitializer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.ClassUtils;
+
+import jakarta.servlet.ServletRegistration;
+
+/**
+ * JspConfig maps JSPs that were precompiled at build time (fast-startup Maven profile)
+ * to their generated servlets, so Jasper does not translate and compile them on the
+ * first request. Without the profile the classes are absent and JSPs are compiled
+ * on demand as before.
+ */
+@Configuration
+public class JspConfig {
+
+    // JspC's default package and naming for src/main/webapp/index.jsp
+    private static final String PRECOMPILED_INDEX = "org.apache.jsp.index_jsp";
+
+    @Bean
+    public ServletContextInitializer precompiledJsps() {
+        return servletContext -> {
+            if (ClassUtils.isPresent(PRECOMPILED_INDEX, JspConfig.class.getClassLoader())) {
+                ServletRegistration.Dynamic index = servletContext.addServlet("index_jsp", PRECOMPILED_INDEX);
+                index.addMapping("/index.jsp");
+                index.setLoadOnStartup(4); // after Jasper's JspServlet (3), which sets up the JSP runtime
+            }
+        };
+    }
+}
@@ -5,36 +5,82 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationContext;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import com.srinjay.secureApp.model.VerifiedToken;
+import com.srinjay.secureApp.service.AuthMetrics;
 import com.srinjay.secureApp.service.JWTService;
 import com.srinjay.secureApp.service.MyUserDetailsService;
+import com.srinjay.secureApp.service.TokenPrecheck;
+import com.srinjay.secureApp.service.TokenRevocationService;
+import com.srinjay.secureApp.service.VerifiedTokenCache;
+
+import io.jsonwebtoken.JwtException;
 
 import java.io.IOException;
 
 /**
- * JwtFilter intercepts every incoming HTTP request (except those excluded in SecurityConfig).
+ * JwtFilter intercepts every incoming HTTP request except the public endpoints.
  * It checks for a JWT token in the "Authorization" header and validates it.
  * 
  * If the token is valid, it sets the authentication details inside the Spring SecurityContext,
  * so that the request is treated as authenticated.
+ *
+ * A token that fails is answered right here with 401 and a reason code in the
+ * WWW-Authenticate header (error_description = malformed, expired, bad_signature,
+ * invalid, revoked or unknown_user). Malformed and expired tokens are caught by
+ * TokenPrecheck before any signature work, without exceptions.
+ *
+ * With app.jwt.stateless-auth=true, tokens that carry authorities are trusted on their own
+ * (claims-only mode) and the user is not loaded from the database.
  */
 @Component
 public class JwtFilter extends OncePerRequestFilter {
 
+    // Request attribute holding the VerifiedToken of an authenticated request
+    public static final String VERIFIED_TOKEN_ATTRIBUTE = "com.srinjay.secureApp.verifiedToken";
+
     @Autowired
     private JWTService jwtService;
 
+    // Optional cache of already verified tokens (no-op unless app.jwt.cache.enabled=true)
+    @Autowired
+    private VerifiedTokenCache tokenCache;
+
+    // Rejects tokens revoked by ID (logout) or per user (changed/disabled accounts)
+    @Autowired
+    private TokenRevocationService tokenRevocations;
+
+    // Timers for token verification (by outcome)
+    @Autowired
+    private AuthMetrics metrics;
+
+    // Tokens longer than this are rejected unread (ours are a few hundred characters)
+    @Value("${app.jwt.max-token-length:8192}")
+    private int maxTokenLength = 8192; // also the limit when built outside Spring (tests, benchmarks)
+
+    // Claims-only mode: build the Authentication from the token alone, without a database lookup
+    @Value("${app.jwt.stateless-auth:false}")
+    private boolean statelessAuth;
+
     // We use ApplicationContext here so that the filter can fetch beans dynamically.
     @Autowired
     private ApplicationContext context;
 
+    // The permitAll endpoints of AppSecurityConfig, matched the same way; any token sent to them is ignored
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return AppSecurityConfig.PUBLIC_ENDPOINTS.matches(request);
+    }
+
     @Override
     protected void doFilterInternal(HttpServletRequest request,
                                     HttpServletResponse response,
@@ -43,43 +89,102 @@ public class JwtFilter extends OncePerRequestFilter {
         // 1. Extract the Authorization header from the request
         // Format: "Bearer <token>"
         String authHeader = request.getHeader("Authorization");
-        String token = null;
-        String username = null;
+        VerifiedToken token = null;
 
-        // 2. If header exists and starts with "Bearer ", extract the token and username
+        // 2. If header exists and starts with "Bearer ", verify the token once.
+        //    The result (username, expiry, ...) is reused below instead of parsing again.
+        //    A token that was verified before is served from the cache without touching JWTService.
+        //    Otherwise garbage and expired tokens are turned away by the pre-check before jjwt runs.
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
-            token = authHeader.substring(7); // Remove "Bearer " prefix
-            username = jwtService.extractUserName(token); // Extract username (subject) from token
+            String rawToken = authHeader.substring(7); // Remove "Bearer " prefix
+            long start = System.nanoTime();
+            token = tokenCache.getIfPresent(rawToken);
+            if (token != null) {
+                metrics.recordTokenVerify(AuthMetrics.CACHED, System.nanoTime() - start);
+            } else {
+                String rejected = TokenPrecheck.check(rawToken, maxTokenLength, System.currentTimeMillis());
+                if (rejected == null) {
+                    try {
+                        token = jwtService.verify(rawToken);
+                        if (token.getSubject() == null) {
+                            rejected = AuthMetrics.INVALID; // signed, but names no user
+                        }
+                    } catch (JwtException | IllegalArgumentException e) {
+                        rejected = AuthMetrics.outcomeOf(e);
+                    }
+                }
+                if (rejected != null) {
+                    metrics.recordTokenVerify(rejected, System.nanoTime() - start);
+                    reject(response, rejected);
+                    return;
+                }
+                metrics.recordTokenVerify(AuthMetrics.VALID, System.nanoTime() - start);
+                tokenCache.put(rawToken, token);
+            }
+            if (tokenRevocations.isRevoked(token)) {
+                reject(response, AuthMetrics.REVOKED);
+                return;
+            }
         }
 
-        // 3. If username is extracted and SecurityContext has no authentication yet,
-        //    then validate the token and set authentication
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            
-            // Load user details from database using MyUserDetailsService
-            UserDetails userDetails = context.getBean(MyUserDetailsService.class)
-                                             .loadUserByUsername(username);
-
-            // Validate the token against user details (e.g., expiration, signature, username match)
-            if (jwtService.validateToken(token, userDetails)) {
-
-                // Create an authentication object (username + authorities)
-                UsernamePasswordAuthenticationToken authToken =
-                        new UsernamePasswordAuthenticationToken(
-                                userDetails,
-                                null,
-                                userDetails.getAuthorities()
-                        );
-
-                // Attach request-specific details (IP, session info)
-                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-
-                // Store authentication in SecurityContext, so Spring knows this request is authenticated
-                SecurityContextHolder.getContext().setAuthentication(authToken);
+        // 3. If the token is valid and SecurityContext has no authentication yet,
+        //    then validate the token against the user and set authentication
+        if (token != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+
+            UserDetails userDetails;
+            if (statelessAuth && !token.getAuthorities().isEmpty()) {
+                // Claims-only mode: the verified token already carries the authorities,
+                // so the user is built from it without touching the database.
+                userDetails = User.withUsername(token.getSubject())
+                                  .password("")
+                                  .authorities(token.getAuthorities().toArray(new String[0]))
+                                  .build();
+            } else {
+                // Load user details using MyUserDetailsService (cached; null for unknown users)
+                userDetails = context.getBean(MyUserDetailsService.class)
+                                     .findUser(token.getSubject());
+            }
+
+            // Validate the already verified token against user details (username match, expiration)
+            if (userDetails == null) {
+                reject(response, AuthMetrics.UNKNOWN_USER);
+                return;
+            }
+            if (!jwtService.validateToken(token, userDetails)) {
+                // e.g. a cached token that has expired since it was verified
+                reject(response, token.isExpiredAt(System.currentTimeMillis()) ? AuthMetrics.EXPIRED : AuthMetrics.INVALID);
+                return;
             }
+
+            // Create an authentication object (username + authorities)
+            UsernamePasswordAuthenticationToken authToken =
+                    new UsernamePasswordAuthenticationToken(
+                            userDetails,
+                            null,
+                            userDetails.getAuthorities()
+                    );
+
+            // Attach request-specific details (IP, session info)
+            authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+
+            // Store authentication in SecurityContext, so Spring knows this request is authenticated
+            SecurityContextHolder.getContext().setAuthentication(authToken);
+
+            // Keep the verified token for the rest of the request (e.g. /logout revokes it)
+            request.setAttribute(VERIFIED_TOKEN_ATTRIBUTE, token);
+            metrics.recordAuthenticatedRequest(); // startup metric: first one only
         }
 
         // 4. Pass the request further down the filter chain
         filterChain.doFilter(request, response);
     }
+
+    /**
+     * Ends the request with 401 and the reason in the WWW-Authenticate header (RFC 6750).
+     */
+    private void reject(HttpServletResponse response, String reason) {
+        metrics.recordRejection(reason);
+        response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+        response.setHeader("WWW-Authenticate", "Bearer error=\"invalid_token\", error_description=\"" + reason + "\"");
+    }
 }
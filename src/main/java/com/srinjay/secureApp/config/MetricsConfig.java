@@ -0,0 +1,77 @@
+package com.srinjay.secureApp.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.srinjay.secureApp.service.LoginThrottle;
+import com.srinjay.secureApp.service.MyUserDetailsService;
+import com.srinjay.secureApp.service.PasswordHashingExecutor;
+import com.srinjay.secureApp.service.TokenRevocationService;
+import com.srinjay.secureApp.service.UsernameFilter;
+import com.srinjay.secureApp.service.VerifiedTokenCache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * MetricsConfig publishes the counters the security services already keep
+ * (caches, login throttle, hashing pool, revocations) as Micrometer meters.
+ *
+ * The values are only read when /actuator/prometheus is scraped, so this adds
+ * nothing to the request path. Per-request timers live in AuthMetrics.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder securityMeters(MyUserDetailsService userDetailsService,
+                                      VerifiedTokenCache tokenCache,
+                                      UsernameFilter usernameFilter,
+                                      LoginThrottle loginThrottle,
+                                      PasswordHashingExecutor hashingExecutor,
+                                      TokenRevocationService tokenRevocations) {
+        return registry -> {
+            // UserDetails cache (MyUserDetailsService) and its negative cache / bloom filter
+            FunctionCounter.builder("auth.user.cache.requests", userDetailsService, s -> s.cacheStats().hitCount())
+                    .tag("result", "hit").register(registry);
+            FunctionCounter.builder("auth.user.cache.requests", userDetailsService, s -> s.cacheStats().missCount())
+                    .tag("result", "miss").register(registry);
+            FunctionCounter.builder("auth.user.cache.negative.hits", userDetailsService, MyUserDetailsService::negativeCacheHits)
+                    .register(registry);
+            FunctionCounter.builder("auth.user.filter.rejected", usernameFilter, UsernameFilter::getRejectedCount)
+                    .register(registry);
+
+            // Verified-token cache (JwtFilter)
+            FunctionCounter.builder("auth.token.cache.requests", tokenCache, c -> c.stats().hitCount())
+                    .tag("result", "hit").register(registry);
+            FunctionCounter.builder("auth.token.cache.requests", tokenCache, c -> c.stats().missCount())
+                    .tag("result", "miss").register(registry);
+            FunctionCounter.builder("auth.token.cache.evictions", tokenCache, c -> c.stats().evictionCount())
+                    .register(registry);
+            Gauge.builder("auth.token.cache.size", tokenCache, VerifiedTokenCache::size).register(registry);
+
+            // Login throttle decisions
+            FunctionCounter.builder("auth.login.attempts", loginThrottle, LoginThrottle::getAllowedCount)
+                    .tag("result", "allowed").register(registry);
+            FunctionCounter.builder("auth.login.attempts", loginThrottle, LoginThrottle::getThrottledCount)
+                    .tag("result", "throttled").register(registry);
+            FunctionCounter.builder("auth.login.attempts", loginThrottle, LoginThrottle::getLockedCount)
+                    .tag("result", "locked").register(registry);
+
+            // Password hashing pool
+            Gauge.builder("auth.hashing.queue.depth", hashingExecutor, PasswordHashingExecutor::getQueueDepth)
+                    .register(registry);
+            Gauge.builder("auth.hashing.active", hashingExecutor, PasswordHashingExecutor::getActiveCount)
+                    .register(registry);
+            FunctionCounter.builder("auth.hashing.tasks", hashingExecutor, PasswordHashingExecutor::getCompletedCount)
+                    .tag("result", "completed").register(registry);
+            FunctionCounter.builder("auth.hashing.tasks", hashingExecutor, PasswordHashingExecutor::getRejectedCount)
+                    .tag("result", "rejected").register(registry);
+
+            // Token revocations currently held
+            Gauge.builder("auth.token.revoked", tokenRevocations, TokenRevocationService::revokedTokenCount)
+                    .register(registry);
+        };
+    }
+}
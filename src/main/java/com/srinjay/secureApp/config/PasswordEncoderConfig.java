@@ -0,0 +1,87 @@
+package com.srinjay.secureApp.config;
+
+import java.time.Duration;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * PasswordEncoderConfig defines the one PasswordEncoder used for registration and login.
+ *
+ *  - BCrypt work factor: app.password.bcrypt.strength, one value for the whole deployment.
+ *    Every replica must hash at the same strength, otherwise replicas on different
+ *    hardware would keep re-hashing each other's passwords on login
+ *  - At startup the host is measured and, if a strength between min-strength and
+ *    max-strength would fit app.password.bcrypt.target-latency better, a warning
+ *    suggests it; the configured strength is used either way
+ *  - New hashes carry their algorithm id ("{bcrypt}$2a$12$..."); hashes stored before
+ *    that (no prefix) are still accepted as BCrypt
+ *  - A stored hash without the id or weaker than the configured strength is re-encoded
+ *    on the next successful login through DaoAuthenticationProvider's upgradeEncoding
+ *    path (MyUserDetailsService.updatePassword); stronger hashes are left as they are
+ */
+@Configuration
+public class PasswordEncoderConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(PasswordEncoderConfig.class);
+
+    static final String BCRYPT_ID = "bcrypt";
+
+    @Bean
+    public PasswordEncoder passwordEncoder(@Value("${app.password.bcrypt.strength:12}") int strength,
+                                           @Value("${app.password.bcrypt.target-latency:250ms}") Duration targetLatency,
+                                           @Value("${app.password.bcrypt.min-strength:10}") int minStrength,
+                                           @Value("${app.password.bcrypt.max-strength:14}") int maxStrength) {
+        long nanos = measure(minStrength);
+        int suggested = pickStrength(nanos, targetLatency, minStrength, maxStrength);
+        if (suggested != strength) {
+            log.warn("BCrypt strength {} is configured, but {} fits the {} ms target on this host"
+                    + " (strength {} hashes in {} ms); change app.password.bcrypt.strength for all replicas at once",
+                    strength, suggested, targetLatency.toMillis(), minStrength, nanos / 1_000_000);
+        }
+        return delegating(strength);
+    }
+
+    /**
+     * Encoder writing "{bcrypt}" hashes at the given strength and accepting unprefixed BCrypt hashes.
+     * BCryptPasswordEncoder only asks for a re-hash when the stored strength is lower.
+     */
+    static PasswordEncoder delegating(int strength) {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(strength);
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(BCRYPT_ID, Map.of(BCRYPT_ID, bcrypt));
+        encoder.setDefaultPasswordEncoderForMatches(bcrypt); // legacy hashes without an id
+        return encoder;
+    }
+
+    /**
+     * Largest strength whose estimated hash time fits the target; each step doubles the cost.
+     * Never below minStrength, even on hosts too slow to meet the target.
+     */
+    static int pickStrength(long nanosAtMin, Duration targetLatency, int minStrength, int maxStrength) {
+        int strength = minStrength;
+        while (strength < maxStrength && nanosAtMin << (strength + 1 - minStrength) <= targetLatency.toNanos()) {
+            strength++;
+        }
+        return strength;
+    }
+
+    // Fastest of a few hashes at the given strength, after one warm-up hash
+    private static long measure(int strength) {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(strength);
+        bcrypt.encode("calibration");
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < 3; i++) {
+            long start = System.nanoTime();
+            bcrypt.encode("calibration");
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best;
+    }
+}
@@ -0,0 +1,46 @@
+package com.srinjay.secureApp.controller;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.srinjay.secureApp.model.ImportReport;
+import com.srinjay.secureApp.model.Users;
+import com.srinjay.secureApp.service.TokenRevocationService;
+import com.srinjay.secureApp.service.UserService;
+
+// Admin-only endpoints (requires the "ADMIN" authority, see AppSecurityConfig)
+@RestController
+public class AdminController {
+
+	@Autowired
+	private TokenRevocationService tokenRevocations;
+
+	@Autowired
+	private UserService userService;
+
+	// Create many users at once; passwords are hashed in parallel, rows saved in batches
+	@PostMapping("/admin/users/bulk")
+	public ImportReport registerUsers(@RequestBody List<Users> users) {
+		return userService.registerAll(users);
+	}
+
+	// Revoke one access token by its token ID ("jti" claim)
+	@PostMapping("/admin/revocations/tokens/{tokenId}")
+	public ResponseEntity<Void> revokeToken(@PathVariable String tokenId) {
+		tokenRevocations.revokeTokenId(tokenId);
+		return ResponseEntity.noContent().build();
+	}
+
+	// Revoke every access and refresh token of a user
+	@PostMapping("/admin/revocations/users/{username}")
+	public ResponseEntity<Void> revokeUser(@PathVariable String username) {
+		userService.revokeUser(username);
+		return ResponseEntity.noContent().build();
+	}
+}
@@ -1,30 +1,110 @@
 package com.srinjay.secureApp.controller;
 
-import java.util.ArrayList;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.web.csrf.CsrfToken;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.srinjay.secureApp.model.EncodedStudents;
+import com.srinjay.secureApp.model.ImportReport;
+import com.srinjay.secureApp.model.MarksStats;
 import com.srinjay.secureApp.model.Student;
+import com.srinjay.secureApp.model.StudentPage;
+import com.srinjay.secureApp.service.StudentService;
 
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 
 @RestController
 public class StudentController {
-	private List<Student> students = new ArrayList<>(
-	        List.of(
-	            new Student(1, "Srinjay", 30),
-	            new Student(2, "Moumita", 40)
-	        )
-	    );
+	// Students live in a thread-safe store, so concurrent GETs and POSTs are safe
+	@Autowired
+	private StudentService service;
 	
+	// Serves the cached, pre-serialized list. Clients sending the last ETag in If-None-Match
+	// get 304 Not Modified without anything being serialized; gzip is used when accepted.
+	// Vary is set before the check so it is sent with the 304 as well.
 	@GetMapping("/students")
-	public List<Student> getStudents(){
-		return students;
+	public ResponseEntity<byte[]> getStudents(WebRequest request, HttpServletResponse servletResponse,
+			@RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) throws IOException {
+		EncodedStudents students = service.getEncodedStudents();
+		boolean gzip = students.getGzip() != null && acceptEncoding != null && acceptEncoding.contains("gzip");
+		String etag = gzip ? students.getGzipEtag() : students.getEtag();
+		servletResponse.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+		if (request.checkNotModified(etag)) {
+			return null; // 304 with ETag already set by checkNotModified
+		}
+		ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+				.contentType(MediaType.APPLICATION_JSON)
+				.eTag(etag);
+		if (gzip) {
+			return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(students.getGzip());
+		}
+		return response.body(students.getJson());
+	}
+	
+	// Paged variant, selected when "limit" is present (and "q" is not): /students?limit=50&sort=marks&minMarks=40&cursor=...
+	// Follow "nextCursor" from the response to read the next page.
+	@GetMapping(value = "/students", params = { "limit", "!q" })
+	public StudentPage getStudentPage(@RequestParam int limit,
+			@RequestParam(required = false) String cursor,
+			@RequestParam(defaultValue = "id") String sort,
+			@RequestParam(required = false) Integer minMarks,
+			@RequestParam(required = false) Integer maxMarks) {
+		return service.getPage(limit, cursor, sort, minMarks, maxMarks);
+	}
+	
+	// Name search for autocomplete, selected when "q" is present: /students?q=sri&limit=10
+	@GetMapping(value = "/students", params = "q")
+	public List<Student> searchStudents(@RequestParam String q, @RequestParam(defaultValue = "10") int limit) {
+		return service.search(q, limit);
+	}
+	
+	// Marks statistics for dashboards, served from aggregates kept up to date on every write
+	@GetMapping("/students/stats")
+	public MarksStats getStats() {
+		return service.getStats();
+	}
+	
+	// Streams all students as NDJSON (default) or CSV without building the list in memory.
+	// The response is chunked and flushed batch by batch, so the first rows arrive immediately.
+	@GetMapping("/students/export")
+	public ResponseEntity<StreamingResponseBody> exportStudents(@RequestParam(defaultValue = "ndjson") String format) {
+		MediaType type;
+		if (StudentService.EXPORT_CSV.equals(format)) {
+			type = new MediaType("text", "csv", StandardCharsets.UTF_8);
+		} else if (StudentService.EXPORT_NDJSON.equals(format)) {
+			type = MediaType.APPLICATION_NDJSON;
+		} else {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "format must be 'ndjson' or 'csv'");
+		}
+		StreamingResponseBody body = out -> service.export(format, out);
+		return ResponseEntity.ok().contentType(type).body(body);
+	}
+	
+	// Bulk import: the NDJSON or CSV body is parsed line by line and stored in batches.
+	// Returns how many rows were accepted and the line number and reason of each rejected row.
+	@PostMapping(value = "/students/import", consumes = { MediaType.APPLICATION_NDJSON_VALUE, "text/csv" })
+	public ImportReport importStudents(HttpServletRequest request) throws IOException {
+		String format = MediaType.parseMediaType(request.getContentType()).isCompatibleWith(MediaType.APPLICATION_NDJSON)
+				? StudentService.EXPORT_NDJSON
+				: StudentService.EXPORT_CSV;
+		return service.importStudents(format, request.getInputStream());
 	}
 	
 	@GetMapping("/csrf")
@@ -36,8 +116,7 @@ public class StudentController {
 	// CSRF token is needed for any POST or PUT or DELETE request. A CSRF token is a unique, random, and secret value generated by a server and included in web application forms or requests to prevent Cross-Site Request Forgery (CSRF) attacks
 	@PostMapping("/students")
 	public Student addStudent(@RequestBody Student s) {
-		students.add(s);
-		return s;
+		return service.addStudent(s);
 	}
 			
 }
@@ -1,27 +1,67 @@
 package com.srinjay.secureApp.controller;
 
+import java.util.concurrent.CompletableFuture;
+
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestAttribute;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
 
+import com.srinjay.secureApp.config.JwtFilter;
+import com.srinjay.secureApp.model.AuthTokens;
 import com.srinjay.secureApp.model.Users;
+import com.srinjay.secureApp.model.VerifiedToken;
+import com.srinjay.secureApp.service.LoginThrottle;
+import com.srinjay.secureApp.service.PasswordHashingExecutor;
 import com.srinjay.secureApp.service.UserService;
 
+import jakarta.servlet.http.HttpServletRequest;
+
 @RestController
 public class UserController {
 	
 	@Autowired
 	private UserService service;
 	
+	// Both endpoints run BCrypt, so they are handed to the bounded hashing pool and the
+	// Tomcat thread is released while the hash runs. A saturated pool answers 503 at once.
+	@Autowired
+	private PasswordHashingExecutor hashingExecutor;
+	
+	// Attempts over the per-user or per-IP budget are refused with 429 before any hashing.
+	@Autowired
+	private LoginThrottle loginThrottle;
+	
 	@PostMapping("/register")
-	public Users register(@RequestBody Users user) {
-		return service.register(user);
+	public CompletableFuture<Users> register(@RequestBody Users user) {
+		return hashingExecutor.submit(() -> service.register(user));
 	}
 	
 	@PostMapping("/login")
-	public String login(@RequestBody Users user) {
-		return service.verify(user);
+	public CompletableFuture<AuthTokens> login(@RequestBody Users user, HttpServletRequest request) {
+		if (!loginThrottle.tryAcquire(user.getUsername(), request.getRemoteAddr())) {
+			throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, "Too many login attempts");
+		}
+		return hashingExecutor.submit(() -> service.verify(user));
+	}
+	
+	// Renews the access token with a refresh token; no password hashing involved.
+	@PostMapping("/refresh")
+	public AuthTokens refresh(@RequestBody AuthTokens tokens) {
+		return service.refresh(tokens.getRefreshToken());
+	}
+	
+	// Revokes the access token of this request and, if sent, the session's refresh token.
+	@PostMapping("/logout")
+	public ResponseEntity<Void> logout(
+			@RequestAttribute(name = JwtFilter.VERIFIED_TOKEN_ATTRIBUTE, required = false) VerifiedToken token,
+			@RequestBody(required = false) AuthTokens tokens) {
+		service.logout(token, tokens == null ? null : tokens.getRefreshToken());
+		return ResponseEntity.noContent().build();
 	}
 	
 	/*
@@ -0,0 +1,44 @@
+package com.srinjay.secureApp.model;
+
+/**
+ * Tokens returned by /login and /refresh.
+ */
+public class AuthTokens {
+	private String accessToken;
+	private String refreshToken;
+	private long expiresIn; // access token lifetime in seconds
+
+	public AuthTokens() {
+	}
+
+	public AuthTokens(String accessToken, String refreshToken, long expiresIn) {
+		this.accessToken = accessToken;
+		this.refreshToken = refreshToken;
+		this.expiresIn = expiresIn;
+	}
+
+	public String getAccessToken() {
+		return accessToken;
+	}
+
+	public void setAccessToken(String accessToken) {
+		this.accessToken = accessToken;
+	}
+
+	public String getRefreshToken() {
+		return refreshToken;
+	}
+
+	public void setRefreshToken(String refreshToken) {
+		this.refreshToken = refreshToken;
+	}
+
+	public long getExpiresIn() {
+		return expiresIn;
+	}
+
+	public void setExpiresIn(long expiresIn) {
+		this.expiresIn = expiresIn;
+	}
+
+}
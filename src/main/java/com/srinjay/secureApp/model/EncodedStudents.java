@@ -0,0 +1,42 @@
+package com.srinjay.secureApp.model;
+
+/**
+ * The full student list, already serialized to JSON (and optionally gzip-compressed),
+ * together with the store version it was built from and its strong ETag.
+ */
+public final class EncodedStudents {
+
+    private final long version;
+    private final byte[] json;
+    private final byte[] gzip; // null when compression is disabled
+    private final String etag;
+
+    public EncodedStudents(long version, byte[] json, byte[] gzip, String etag) {
+        this.version = version;
+        this.json = json;
+        this.gzip = gzip;
+        this.etag = etag;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    // Shared bytes: callers must not modify them
+    public byte[] getJson() {
+        return json;
+    }
+
+    public byte[] getGzip() {
+        return gzip;
+    }
+
+    public String getEtag() {
+        return etag;
+    }
+
+    // Strong ETags must differ per representation, so the gzip body gets its own tag
+    public String getGzipEtag() {
+        return etag.substring(0, etag.length() - 1) + "-gzip\"";
+    }
+}
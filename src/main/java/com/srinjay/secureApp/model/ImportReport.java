@@ -0,0 +1,68 @@
+package com.srinjay.secureApp.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Result of a bulk student import or bulk user registration: counts plus the
+ * rows (records) that were rejected.
+ */
+public class ImportReport {
+	private long accepted;
+	private long rejected;
+	private final List<RowError> errors = new ArrayList<>();
+	private boolean errorsTruncated; // true when more rows failed than are listed in errors
+
+	public long getAccepted() {
+		return accepted;
+	}
+
+	public long getRejected() {
+		return rejected;
+	}
+
+	public List<RowError> getErrors() {
+		return errors;
+	}
+
+	public boolean isErrorsTruncated() {
+		return errorsTruncated;
+	}
+
+	public void addAccepted(long count) {
+		accepted += count;
+	}
+
+	// Records a rejected row; only the first maxErrors rows are listed
+	public void addError(long line, String message, int maxErrors) {
+		rejected++;
+		if (errors.size() < maxErrors) {
+			errors.add(new RowError(line, message));
+		} else {
+			errorsTruncated = true;
+		}
+	}
+
+	/**
+	 * A rejected input row (1-based line number in the uploaded body, or 1-based
+	 * position in the array for bulk user registration).
+	 */
+	public static class RowError {
+		private final long line;
+		private final String message;
+
+		public RowError(long line, String message) {
+			this.line = line;
+			this.message = message;
+		}
+
+		public long getLine() {
+			return line;
+		}
+
+		public String getMessage() {
+			return message;
+		}
+	}
+
+}
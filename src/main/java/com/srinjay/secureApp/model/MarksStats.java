@@ -0,0 +1,62 @@
+package com.srinjay.secureApp.model;
+
+import java.util.Map;
+
+/**
+ * Snapshot of the marks statistics served by /students/stats.
+ */
+public class MarksStats {
+	private final long count;
+	private final double average;
+	private final Integer min;  // null when there are no students
+	private final Integer max;
+	private final Integer p50;
+	private final Integer p90;
+	private final Integer p99;
+	private final Map<String, Long> histogram; // "0-9" -> count, ..., "100" -> count, plus "<0" / ">100"
+
+	public MarksStats(long count, double average, Integer min, Integer max, Integer p50, Integer p90, Integer p99,
+			Map<String, Long> histogram) {
+		this.count = count;
+		this.average = average;
+		this.min = min;
+		this.max = max;
+		this.p50 = p50;
+		this.p90 = p90;
+		this.p99 = p99;
+		this.histogram = histogram;
+	}
+
+	public long getCount() {
+		return count;
+	}
+
+	public double getAverage() {
+		return average;
+	}
+
+	public Integer getMin() {
+		return min;
+	}
+
+	public Integer getMax() {
+		return max;
+	}
+
+	public Integer getP50() {
+		return p50;
+	}
+
+	public Integer getP90() {
+		return p90;
+	}
+
+	public Integer getP99() {
+		return p99;
+	}
+
+	public Map<String, Long> getHistogram() {
+		return histogram;
+	}
+
+}
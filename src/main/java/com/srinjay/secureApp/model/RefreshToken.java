@@ -0,0 +1,55 @@
+package com.srinjay.secureApp.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+/**
+ * Server-side record of an issued refresh token.
+ * Only the SHA-256 hash of the token is stored, never the token itself.
+ */
+@Entity
+@Table(name = "refresh_token", indexes = @Index(name = "idx_refresh_token_username", columnList = "username"))
+public class RefreshToken {
+	    @Id
+	    @Column(name = "token_hash", length = 64)
+	    private String tokenHash;
+	    private String username;
+	    @Column(name = "expires_at")
+	    private long expiresAt; // epoch millis
+
+	    public String getTokenHash() {
+	        return tokenHash;
+	    }
+
+	    public void setTokenHash(String tokenHash) {
+	        this.tokenHash = tokenHash;
+	    }
+
+	    public String getUsername() {
+	        return username;
+	    }
+
+	    public void setUsername(String username) {
+	        this.username = username;
+	    }
+
+	    public long getExpiresAt() {
+	        return expiresAt;
+	    }
+
+	    public void setExpiresAt(long expiresAt) {
+	        this.expiresAt = expiresAt;
+	    }
+
+	    @Override
+	    public String toString() {
+	        return "RefreshToken{" +
+	                "username='" + username + '\'' +
+	                ", expiresAt=" + expiresAt +
+	                '}';
+	    }
+
+}
@@ -1,6 +1,15 @@
 package com.srinjay.secureApp.model;
 
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+// Composite (marks, id) index backs keyset pagination ordered by marks
+@Entity
+@Table(name = "student", indexes = @Index(name = "idx_student_marks_id", columnList = "marks, id"))
 public class Student {
+	@Id
 	private int id;
 	private String name;
 	private int marks;
@@ -34,6 +43,10 @@ public class Student {
 		return "Student [id=" + id + ", name=" + name + ", marks=" + marks + "]";
 	}
 
+	protected Student() {
+		// for JPA
+	}
+
 	public Student(int id, String name, int marks) {
 		super();
 		this.id = id;
@@ -0,0 +1,29 @@
+package com.srinjay.secureApp.model;
+
+import java.util.List;
+
+/**
+ * One page of students plus the cursor for the next page (null on the last page).
+ */
+public class StudentPage {
+	private final List<Student> items;
+	private final String nextCursor;
+
+	public StudentPage(List<Student> items, String nextCursor) {
+		this.items = items;
+		this.nextCursor = nextCursor;
+	}
+
+	public List<Student> getItems() {
+		return items;
+	}
+
+	public String getNextCursor() {
+		return nextCursor;
+	}
+
+	public boolean isHasMore() {
+		return nextCursor != null;
+	}
+
+}
@@ -2,6 +2,7 @@ package com.srinjay.secureApp.model;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.function.BooleanSupplier;
 
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -15,17 +16,34 @@ public class UserPrincipal implements UserDetails {
     private Users user; 
     // Reference to our Users entity from the database.
 
-    // Constructor: accept Users object and store it
+    private final Collection<? extends GrantedAuthority> authorities;
+    // Roles/authorities granted to the user.
+
+    private final BooleanSupplier nonLocked;
+    // Asked on every check, so a cached principal still sees a lock set after it was loaded.
+
+    // Constructor: accept Users object and store it; every user gets the "USER" authority
     public UserPrincipal(Users user) {
+        this(user, Collections.singleton(new SimpleGrantedAuthority("USER")));
+    }
+
+    // Constructor for users with extra authorities (e.g. "ADMIN")
+    public UserPrincipal(Users user, Collection<? extends GrantedAuthority> authorities) {
+        this(user, authorities, () -> true);
+    }
+
+    // Constructor with a live lock check (e.g. LoginThrottle after repeated failed logins)
+    public UserPrincipal(Users user, Collection<? extends GrantedAuthority> authorities, BooleanSupplier nonLocked) {
         this.user = user;
+        this.authorities = authorities;
+        this.nonLocked = nonLocked;
     }
 
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         // This method defines the roles/authorities granted to the user.
-        // Currently hard-coded as "USER" for every authenticated user.
-        // Later, you can fetch roles dynamically from the Users entity.
-        return Collections.singleton(new SimpleGrantedAuthority("USER"));
+        // Defaults to "USER"; MyUserDetailsService adds "ADMIN" for configured admin usernames.
+        return authorities;
     }
 
     @Override
@@ -49,9 +67,9 @@ public class UserPrincipal implements UserDetails {
 
     @Override
     public boolean isAccountNonLocked() {
-        // If you want to implement account locking (like after multiple failed attempts),
-        // handle it here. true = account is not locked.
-        return true;
+        // Account locking after multiple failed login attempts (see LoginThrottle).
+        // true = account is not locked.
+        return nonLocked.getAsBoolean();
     }
 
     @Override
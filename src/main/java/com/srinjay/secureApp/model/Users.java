@@ -2,13 +2,18 @@ package com.srinjay.secureApp.model;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 
 @Entity
 public class Users {
+	    // Assigned by the database (AUTO_INCREMENT userid); new users are plain inserts
 	    @Id
+	    @GeneratedValue(strategy = GenerationType.IDENTITY)
 	    @Column(name = "userid")
 	    private int id;
+	    @Column(unique = true) // uk_users_username, see db/mysql/003-users-userid.sql
 	    private String username;
 	    private String password;
 
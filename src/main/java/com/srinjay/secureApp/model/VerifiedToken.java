@@ -0,0 +1,63 @@
+package com.srinjay.secureApp.model;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * VerifiedToken is the immutable result of verifying a JWT exactly once.
+ *
+ * JWTService parses and checks the signature of a token a single time and
+ * hands back this object, so the rest of the request (JwtFilter, controllers)
+ * can read the token ID, subject, expiry, issue time and authorities without parsing
+ * the token again.
+ */
+public final class VerifiedToken {
+
+    private final String id;            // "jti" claim, used for revocation (may be null for old tokens)
+    private final String subject;       // username the token was issued for
+    private final Date issuedAt;        // "iat" claim
+    private final Date expiration;      // "exp" claim
+    private final List<String> authorities; // authority names carried in the token (may be empty)
+
+    public VerifiedToken(String id, String subject, Date issuedAt, Date expiration, Collection<String> authorities) {
+        this.id = id;
+        this.subject = subject;
+        this.issuedAt = issuedAt == null ? null : new Date(issuedAt.getTime());
+        this.expiration = expiration == null ? null : new Date(expiration.getTime());
+        this.authorities = authorities == null ? List.of() : List.copyOf(authorities);
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    public Date getIssuedAt() {
+        return issuedAt == null ? null : new Date(issuedAt.getTime());
+    }
+
+    public Date getExpiration() {
+        return expiration == null ? null : new Date(expiration.getTime());
+    }
+
+    public List<String> getAuthorities() {
+        return authorities;
+    }
+
+    /**
+     * Check if the token is expired at the given instant (epoch millis).
+     */
+    public boolean isExpiredAt(long nowMillis) {
+        return expiration != null && expiration.getTime() < nowMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "VerifiedToken [id=" + id + ", subject=" + subject + ", issuedAt=" + issuedAt + ", expiration=" + expiration
+                + ", authorities=" + authorities + "]";
+    }
+}
@@ -0,0 +1,156 @@
+package com.srinjay.secureApp.repo;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import com.srinjay.secureApp.model.Student;
+
+/**
+ * In-memory StudentStore.
+ *
+ *  - byId: hash map for O(1) lookup by id; its per-key compute() is the only
+ *    lock, so writes to different students run in parallel
+ *  - idIndex / marksIndex: concurrent skip lists kept in id and (marks, id)
+ *    order for sorted reads and range queries
+ *
+ * Readers never lock: they see each index as of some point during the read.
+ * Default store; app.students.store=jpa switches to JpaStudentStore.
+ */
+@Repository
+@ConditionalOnProperty(name = "app.students.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryStudentStore implements StudentStore {
+
+    private final ConcurrentHashMap<Integer, Student> byId = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<Integer, Student> idIndex = new ConcurrentSkipListMap<>();
+    private final ConcurrentSkipListMap<Long, Student> marksIndex = new ConcurrentSkipListMap<>();
+    private final AtomicLong version = new AtomicLong();
+
+    public InMemoryStudentStore() {
+        save(new Student(1, "Srinjay", 30));
+        save(new Student(2, "Moumita", 40));
+    }
+
+    @Override
+    public Student save(Student student) {
+        // Copy so later changes to the caller's object cannot bypass the indexes
+        Student stored = new Student(student.getId(), student.getName(), student.getMarks());
+        Student[] previous = new Student[1];
+        byId.compute(stored.getId(), (id, old) -> {
+            if (old != null) {
+                marksIndex.remove(marksKey(old));
+            }
+            marksIndex.put(marksKey(stored), stored);
+            idIndex.put(id, stored);
+            previous[0] = old;
+            return stored;
+        });
+        version.incrementAndGet(); // after the write, so a reader seeing the new version sees the data
+        return previous[0];
+    }
+
+    @Override
+    public List<Student> saveAll(List<Student> students) {
+        List<Student> previous = new ArrayList<>(students.size());
+        for (Student student : students) {
+            previous.add(save(student));
+        }
+        return previous;
+    }
+
+    @Override
+    public Optional<Student> findById(int id) {
+        return Optional.ofNullable(byId.get(id));
+    }
+
+    @Override
+    public List<Student> findAll() {
+        return new ArrayList<>(idIndex.values());
+    }
+
+    @Override
+    public List<Student> findByMarksBetween(int min, int max) {
+        if (min > max) {
+            return List.of();
+        }
+        ConcurrentNavigableMap<Long, Student> range =
+                marksIndex.subMap(marksKey(min, Integer.MIN_VALUE), true, marksKey(max, Integer.MAX_VALUE), true);
+        List<Student> result = new ArrayList<>();
+        for (Map.Entry<Long, Student> entry : range.entrySet()) {
+            result.add(entry.getValue());
+        }
+        return result;
+    }
+
+    @Override
+    public List<Student> findPageOrderById(Integer afterId, int minMarks, int maxMarks, int limit) {
+        Map<Integer, Student> tail = afterId == null ? idIndex : idIndex.tailMap(afterId, false);
+        List<Student> page = new ArrayList<>(Math.min(limit, 1024));
+        for (Student student : tail.values()) {
+            if (page.size() >= limit) {
+                break;
+            }
+            if (student.getMarks() >= minMarks && student.getMarks() <= maxMarks) {
+                page.add(student);
+            }
+        }
+        return page;
+    }
+
+    @Override
+    public List<Student> findPageOrderByMarks(Integer afterMarks, Integer afterId, int minMarks, int maxMarks, int limit) {
+        if (minMarks > maxMarks) {
+            return List.of();
+        }
+        long from = marksKey(minMarks, Integer.MIN_VALUE);
+        boolean inclusive = true;
+        if (afterMarks != null) {
+            long after = marksKey(afterMarks, afterId == null ? Integer.MAX_VALUE : afterId);
+            if (after >= from) {
+                from = after;
+                inclusive = false;
+            }
+        }
+        long to = marksKey(maxMarks, Integer.MAX_VALUE);
+        if (from > to) {
+            return List.of();
+        }
+        List<Student> page = new ArrayList<>(Math.min(limit, 1024));
+        for (Student student : marksIndex.subMap(from, inclusive, to, true).values()) {
+            if (page.size() >= limit) {
+                break;
+            }
+            page.add(student);
+        }
+        return page;
+    }
+
+    @Override
+    public long count() {
+        return byId.size();
+    }
+
+    @Override
+    public long version() {
+        return version.get();
+    }
+
+    private static long marksKey(Student student) {
+        return marksKey(student.getMarks(), student.getId());
+    }
+
+    /**
+     * Packs (marks, id) into one long that sorts by marks, then id.
+     */
+    static long marksKey(int marks, int id) {
+        return ((long) marks << 32) | (id - (long) Integer.MIN_VALUE);
+    }
+}
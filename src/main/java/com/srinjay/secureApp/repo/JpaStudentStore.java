@@ -0,0 +1,136 @@
+package com.srinjay.secureApp.repo;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.srinjay.secureApp.model.Student;
+
+/**
+ * StudentStore backed by the student table (app.students.store=jpa).
+ * Pages use keyset conditions on the primary key or the (marks, id) index,
+ * so deep pages cost the same as the first one.
+ *
+ * version() only counts writes made through this instance; rows changed by
+ * other replicas or directly in the database are not noticed.
+ */
+@Repository
+@ConditionalOnProperty(name = "app.students.store", havingValue = "jpa")
+public class JpaStudentStore implements StudentStore {
+
+    @Autowired
+    private StudentRepo repo;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate; // plain JDBC batches for bulk inserts
+
+    @Autowired
+    private TransactionTemplate transactionTemplate; // one transaction per saveAll
+
+    private final AtomicLong version = new AtomicLong();
+
+    @Override
+    @Transactional
+    public Student save(Student student) {
+        Student previous = repo.findById(student.getId())
+                .map(s -> new Student(s.getId(), s.getName(), s.getMarks())) // detach a copy before the update
+                .orElse(null);
+        repo.save(new Student(student.getId(), student.getName(), student.getMarks()));
+        version.incrementAndGet();
+        return previous;
+    }
+
+    /**
+     * Looks up which ids already exist with one query, then inserts the new students
+     * and updates the existing ones with one JDBC batch each. Everything runs in one
+     * transaction: if any row fails, none of the list is stored.
+     */
+    @Override
+    public List<Student> saveAll(List<Student> students) {
+        List<Student> previous = transactionTemplate.execute(status -> {
+            Map<Integer, Student> stored = new HashMap<>();
+            for (Student s : repo.findAllById(students.stream().map(Student::getId).toList())) {
+                stored.put(s.getId(), new Student(s.getId(), s.getName(), s.getMarks())); // detached copies
+            }
+            List<Student> replaced = new ArrayList<>(students.size());
+            List<Student> inserts = new ArrayList<>();
+            List<Student> updates = new ArrayList<>();
+            for (Student student : students) {
+                Student old = stored.put(student.getId(), student); // an id repeated in the list replaces its earlier row
+                replaced.add(old);
+                (old == null ? inserts : updates).add(student);
+            }
+            if (!inserts.isEmpty()) {
+                jdbcTemplate.batchUpdate("insert into student (id, name, marks) values (?, ?, ?)", inserts, inserts.size(),
+                        (ps, student) -> {
+                            ps.setInt(1, student.getId());
+                            ps.setString(2, student.getName());
+                            ps.setInt(3, student.getMarks());
+                        });
+            }
+            if (!updates.isEmpty()) {
+                jdbcTemplate.batchUpdate("update student set name = ?, marks = ? where id = ?", updates, updates.size(),
+                        (ps, student) -> {
+                            ps.setString(1, student.getName());
+                            ps.setInt(2, student.getMarks());
+                            ps.setInt(3, student.getId());
+                        });
+            }
+            return replaced;
+        });
+        version.incrementAndGet();
+        return previous;
+    }
+
+    @Override
+    public Optional<Student> findById(int id) {
+        return repo.findById(id);
+    }
+
+    @Override
+    public List<Student> findAll() {
+        return repo.findAll(Sort.by("id"));
+    }
+
+    @Override
+    public List<Student> findByMarksBetween(int min, int max) {
+        return repo.findAllByMarksBetweenOrdered(min, max);
+    }
+
+    @Override
+    public List<Student> findPageOrderById(Integer afterId, int minMarks, int maxMarks, int limit) {
+        return afterId == null
+                ? repo.findFirstPageOrderById(minMarks, maxMarks, Limit.of(limit))
+                : repo.findPageOrderById(afterId, minMarks, maxMarks, Limit.of(limit));
+    }
+
+    @Override
+    public List<Student> findPageOrderByMarks(Integer afterMarks, Integer afterId, int minMarks, int maxMarks, int limit) {
+        return afterMarks == null
+                ? repo.findFirstPageOrderByMarks(minMarks, maxMarks, Limit.of(limit))
+                : repo.findPageOrderByMarks(afterMarks, afterId == null ? Integer.MAX_VALUE : afterId,
+                        minMarks, maxMarks, Limit.of(limit));
+    }
+
+    @Override
+    public long count() {
+        return repo.count();
+    }
+
+    @Override
+    public long version() {
+        return version.get();
+    }
+}
@@ -0,0 +1,23 @@
+package com.srinjay.secureApp.repo;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import com.srinjay.secureApp.model.RefreshToken;
+
+public interface RefreshTokenRepo extends JpaRepository<RefreshToken, String> {
+
+    // Conditional delete: 0 when another request already deleted (used) the token
+    @Modifying
+    @Query("delete from RefreshToken r where r.tokenHash = :tokenHash")
+    int deleteByTokenHash(String tokenHash);
+
+    @Modifying
+    @Query("delete from RefreshToken r where r.username = :username")
+    int deleteAllByUsername(String username);
+
+    @Modifying
+    @Query("delete from RefreshToken r where r.expiresAt < :now")
+    int deleteAllExpiredBefore(long now);
+}
@@ -0,0 +1,29 @@
+package com.srinjay.secureApp.repo;
+
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import com.srinjay.secureApp.model.Student;
+
+// Keyset queries only (no OFFSET), served by the primary key and the (marks, id) index
+public interface StudentRepo extends JpaRepository<Student, Integer> {
+
+    @Query("select s from Student s where s.marks between :minMarks and :maxMarks order by s.id")
+    List<Student> findFirstPageOrderById(int minMarks, int maxMarks, Limit limit);
+
+    @Query("select s from Student s where s.id > :afterId and s.marks between :minMarks and :maxMarks order by s.id")
+    List<Student> findPageOrderById(int afterId, int minMarks, int maxMarks, Limit limit);
+
+    @Query("select s from Student s where s.marks between :minMarks and :maxMarks order by s.marks, s.id")
+    List<Student> findFirstPageOrderByMarks(int minMarks, int maxMarks, Limit limit);
+
+    @Query("select s from Student s where (s.marks > :afterMarks or (s.marks = :afterMarks and s.id > :afterId))"
+            + " and s.marks between :minMarks and :maxMarks order by s.marks, s.id")
+    List<Student> findPageOrderByMarks(int afterMarks, int afterId, int minMarks, int maxMarks, Limit limit);
+
+    @Query("select s from Student s where s.marks between :minMarks and :maxMarks order by s.marks, s.id")
+    List<Student> findAllByMarksBetweenOrdered(int minMarks, int maxMarks);
+}
@@ -0,0 +1,58 @@
+package com.srinjay.secureApp.repo;
+
+import java.util.List;
+import java.util.Optional;
+
+import com.srinjay.secureApp.model.Student;
+
+/**
+ * Storage for students, safe to use from many request threads at once.
+ */
+public interface StudentStore {
+
+    /**
+     * Insert or replace the student with the same id.
+     *
+     * @return the student previously stored under that id, or null
+     */
+    Student save(Student student);
+
+    /**
+     * Insert or replace many students at once (bulk import).
+     *
+     * @return for each input student, the student previously stored under its id, or null
+     */
+    List<Student> saveAll(List<Student> students);
+
+    Optional<Student> findById(int id);
+
+    /**
+     * All students ordered by id.
+     */
+    List<Student> findAll();
+
+    /**
+     * Students with min <= marks <= max, ordered by marks then id.
+     */
+    List<Student> findByMarksBetween(int min, int max);
+
+    /**
+     * Keyset page ordered by id: students with id > afterId (all if afterId is null)
+     * and minMarks <= marks <= maxMarks, at most limit of them.
+     */
+    List<Student> findPageOrderById(Integer afterId, int minMarks, int maxMarks, int limit);
+
+    /**
+     * Keyset page ordered by (marks, id): students after (afterMarks, afterId)
+     * (all if afterMarks is null) with minMarks <= marks <= maxMarks, at most limit of them.
+     */
+    List<Student> findPageOrderByMarks(Integer afterMarks, Integer afterId, int minMarks, int maxMarks, int limit);
+
+    long count();
+
+    /**
+     * Counter that changes on every write made through this store, so readers
+     * can tell cheaply whether anything changed since they last looked.
+     */
+    long version();
+}
@@ -1,10 +1,24 @@
 package com.srinjay.secureApp.repo;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.srinjay.secureApp.model.Users;
 
 public interface UserRepo extends JpaRepository<Users, Integer> {
 
     Users findByUsername(String username);
+
+    // Streams usernames only; must be consumed inside a transaction and closed
+    @Query("select u.username from Users u")
+    Stream<String> streamAllUsernames();
+
+    // Which of the given usernames are already taken (one query per bulk batch)
+    @Query("select u.username from Users u where u.username in :usernames")
+    List<String> findExistingUsernames(@Param("usernames") Collection<String> usernames);
 }
@@ -0,0 +1,147 @@
+package com.srinjay.secureApp.service;
+
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.MalformedJwtException;
+import io.jsonwebtoken.security.SignatureException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Micrometer timers for each stage of authentication, exported at /actuator/prometheus:
+ *
+ *  - auth.token.verify     JwtFilter token parse/verify     outcome=valid|cached|expired|malformed|bad_signature|invalid
+ *  - auth.user.lookup      user lookup (cache or database)  outcome=cached|found|unknown_user
+ *  - auth.password.check   login credential check (BCrypt)  outcome=success|bad_credentials|locked|error
+ *  - auth.token.generate   access token signing
+ *  - auth.token.rejected   requests JwtFilter answered with 401 (counter)
+ *                          reason=malformed|expired|bad_signature|invalid|revoked|unknown_user
+ *  - application.first.authenticated.request.time   JVM start to the first request
+ *    JwtFilter authenticated (how fast a new replica really takes traffic; compare
+ *    with Spring Boot's application.ready.time)
+ *
+ * Every timer is registered up front and recorded with a plain nanoTime difference, so
+ * the hot path does no tag lookups or allocation and the meters can stay on in production.
+ */
+@Component
+public class AuthMetrics {
+
+    private static final Logger log = LoggerFactory.getLogger(AuthMetrics.class);
+
+    public static final String VALID = "valid";
+    public static final String CACHED = "cached";
+    public static final String EXPIRED = "expired";
+    public static final String MALFORMED = "malformed";
+    public static final String BAD_SIGNATURE = "bad_signature";
+    public static final String INVALID = "invalid";
+    public static final String REVOKED = "revoked";
+
+    public static final String FOUND = "found";
+    public static final String UNKNOWN_USER = "unknown_user";
+
+    public static final String SUCCESS = "success";
+    public static final String BAD_CREDENTIALS = "bad_credentials";
+    public static final String LOCKED = "locked";
+    public static final String ERROR = "error";
+
+    private final Map<String, Timer> tokenVerify;
+    private final Map<String, Timer> userLookup;
+    private final Map<String, Timer> passwordCheck;
+    private final Timer tokenGenerate;
+    private final Map<String, Counter> tokenRejected;
+    private final AtomicBoolean firstAuthenticated = new AtomicBoolean();
+    private volatile double firstAuthenticatedMillis = Double.NaN;
+
+    public AuthMetrics(MeterRegistry registry) {
+        this.tokenVerify = timers(registry, "auth.token.verify", "JWT parse and signature check per request",
+                VALID, CACHED, EXPIRED, MALFORMED, BAD_SIGNATURE, INVALID);
+        this.userLookup = timers(registry, "auth.user.lookup", "User lookup by username",
+                CACHED, FOUND, UNKNOWN_USER);
+        this.passwordCheck = timers(registry, "auth.password.check", "Login credential check including BCrypt",
+                SUCCESS, BAD_CREDENTIALS, LOCKED, ERROR);
+        this.tokenGenerate = Timer.builder("auth.token.generate")
+                .description("Access token generation")
+                .register(registry);
+        Map<String, Counter> rejected = new HashMap<>();
+        for (String reason : new String[] { MALFORMED, EXPIRED, BAD_SIGNATURE, INVALID, REVOKED, UNKNOWN_USER }) {
+            rejected.put(reason, Counter.builder("auth.token.rejected")
+                    .description("Requests rejected with 401 by JwtFilter")
+                    .tag("reason", reason)
+                    .register(registry));
+        }
+        this.tokenRejected = Map.copyOf(rejected);
+        TimeGauge.builder("application.first.authenticated.request.time", this, TimeUnit.MILLISECONDS,
+                        metrics -> metrics.firstAuthenticatedMillis)
+                .description("Time from JVM start to the first authenticated request")
+                .register(registry);
+    }
+
+    public void recordTokenVerify(String outcome, long nanos) {
+        tokenVerify.get(outcome).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordUserLookup(String outcome, long nanos) {
+        userLookup.get(outcome).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordPasswordCheck(String outcome, long nanos) {
+        passwordCheck.get(outcome).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordTokenGenerate(long nanos) {
+        tokenGenerate.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordRejection(String reason) {
+        tokenRejected.get(reason).increment();
+    }
+
+    /**
+     * Called for every authenticated request; only the first one is recorded.
+     */
+    public void recordAuthenticatedRequest() {
+        if (!firstAuthenticated.get() && firstAuthenticated.compareAndSet(false, true)) {
+            long uptime = ManagementFactory.getRuntimeMXBean().getUptime();
+            firstAuthenticatedMillis = uptime;
+            log.info("First authenticated request {} ms after JVM start", uptime);
+        }
+    }
+
+    /**
+     * Outcome tag for a token that failed verification.
+     */
+    public static String outcomeOf(RuntimeException e) {
+        if (e instanceof ExpiredJwtException) {
+            return EXPIRED;
+        }
+        if (e instanceof MalformedJwtException) {
+            return MALFORMED;
+        }
+        if (e instanceof SignatureException) {
+            return BAD_SIGNATURE;
+        }
+        return INVALID;
+    }
+
+    private static Map<String, Timer> timers(MeterRegistry registry, String name, String description, String... outcomes) {
+        Map<String, Timer> timers = new HashMap<>();
+        for (String outcome : outcomes) {
+            timers.put(outcome, Timer.builder(name)
+                    .description(description)
+                    .tag("outcome", outcome)
+                    .register(registry));
+        }
+        return Map.copyOf(timers);
+    }
+}
@@ -1,47 +1,66 @@
 package com.srinjay.secureApp.service;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.io.Decoders;
-import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
-import javax.crypto.KeyGenerator;
-import javax.crypto.SecretKey;
-import java.security.NoSuchAlgorithmException;
-import java.util.Base64;
+import com.srinjay.secureApp.model.VerifiedToken;
+
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 
 /**
  * JWTService is responsible for:
  *  - Generating JWT tokens
- *  - Extracting data (claims) from tokens
+ *  - Verifying tokens once and exposing their claims as a VerifiedToken
  *  - Validating tokens against user details
  *
- * It ensures secure authentication by signing tokens with a secret key.
+ * It ensures secure authentication by signing tokens with a secret key from the
+ * JwtKeyRing. The JwtParser is built once at startup and reused for every
+ * request, so verifying a token never re-decodes the key or rebuilds the parser.
  */
 @Service
 public class JWTService {
 
-    // Secret key for signing and verifying JWTs
-    private String secretkey = "";
+    // Name of the claim that carries the user's authorities (optional)
+    public static final String AUTHORITIES_CLAIM = "roles";
+
+    // Lifetime of an access token; clients renew it through /refresh
+    public static final long ACCESS_TOKEN_TTL_MILLIS = 60 * 60 * 30;
+
+    // Signing keys, looked up by the "kid" header when verifying
+    private final JwtKeyRing keyRing;
+
+    // Thread-safe parser bound to the key ring above, shared by all requests
+    private final JwtParser parser;
 
     /**
-     * Constructor generates a random HmacSHA256 secret key at application startup.
-     * This ensures tokens are cryptographically signed and tamper-proof.
+     * Builds the parser once at startup; it picks the verification key by the
+     * token's key ID, so tokens signed with a recently rotated key stay valid.
+     */
+    @Autowired
+    public JWTService(JwtKeyRing keyRing) {
+        this.keyRing = keyRing;
+        this.parser = Jwts.parser()
+                .keyLocator(keyRing)        // verify token signature with the key named by "kid"
+                .build();
+    }
+
+    /**
+     * Creates a service with a random, in-memory key (used outside of Spring, e.g. in tests).
      */
     public JWTService() {
-        try {
-            KeyGenerator keyGen = KeyGenerator.getInstance("HmacSHA256");
-            SecretKey sk = keyGen.generateKey();
-            secretkey = Base64.getEncoder().encodeToString(sk.getEncoded());
-        } catch (NoSuchAlgorithmException e) {
-            throw new RuntimeException(e);
-        }
+        this(JwtKeyRing.ephemeral());
     }
 
     /**
@@ -52,23 +71,67 @@ public class JWTService {
      */
     public String generateToken(String username) {
         Map<String, Object> claims = new HashMap<>();
+        return buildToken(username, claims);
+    }
+
+    /**
+     * Generate a JWT token for a user, embedding the user's authorities.
+     *
+     * Tokens built this way carry everything JwtFilter needs in claims-only
+     * (stateless) mode, so no database lookup is needed to authenticate them.
+     *
+     * @param userDetails the authenticated user
+     * @return signed JWT token string
+     */
+    public String generateToken(UserDetails userDetails) {
+        List<String> authorities = new ArrayList<>();
+        for (GrantedAuthority authority : userDetails.getAuthorities()) {
+            authorities.add(authority.getAuthority());
+        }
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(AUTHORITIES_CLAIM, authorities);
+        return buildToken(userDetails.getUsername(), claims);
+    }
+
+    /**
+     * Build and sign a token with the active key of the key ring.
+     */
+    private String buildToken(String subject, Map<String, Object> claims) {
+        // Read the kid once: the key stays in the ring after a rotation, so kid and key always match
+        String kid = keyRing.activeKeyId();
         return Jwts.builder()
                 .claims()                               // start adding claims
                 .add(claims)                            // (custom data if needed)
-                .subject(username)                      // set subject = username
+                .id(UUID.randomUUID().toString())       // token ID, lets a single token be revoked
+                .subject(subject)                       // set subject = username
                 .issuedAt(new Date(System.currentTimeMillis())) // issue time
-                .expiration(new Date(System.currentTimeMillis() + 60 * 60 * 30)) // expiry time
+                .expiration(new Date(System.currentTimeMillis() + ACCESS_TOKEN_TTL_MILLIS)) // expiry time
                 .and()
-                .signWith(getKey())                     // sign with secret key
+                .header().keyId(kid).and()              // name the signing key
+                .signWith(keyRing.key(kid))             // sign with secret key
                 .compact();                             // build final token
     }
 
     /**
-     * Returns the secret key object for signing/verifying tokens.
+     * Parse and verify a token exactly once.
+     *
+     * The signature and expiry are checked by the parser; on success the claims
+     * are copied into an immutable VerifiedToken that callers can keep for the
+     * rest of the request instead of parsing the token again.
+     *
+     * @param token JWT token
+     * @return verified claims of the token
+     * @throws io.jsonwebtoken.JwtException if the token is malformed, tampered with or expired
      */
-    private SecretKey getKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretkey);
-        return Keys.hmacShaKeyFor(keyBytes);
+    public VerifiedToken verify(String token) {
+        Claims claims = extractAllClaims(token);
+        return new VerifiedToken(
+                claims.getId(),
+                claims.getSubject(),
+                claims.getIssuedAt(),
+                claims.getExpiration(),
+                extractAuthorities(claims)
+        );
     }
 
     /**
@@ -94,34 +157,41 @@ public class JWTService {
      * Extract all claims (payload) from a JWT token.
      */
     private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getKey())       // verify token signature with secret key
-                .build()
+        return parser
                 .parseSignedClaims(token)   // parse and return claims
                 .getPayload();
     }
 
     /**
-     * Validate a JWT token:
-     *  - Check if username inside token matches UserDetails
-     *  - Ensure token is not expired
+     * Read the optional authorities claim as a list of names.
      */
-    public boolean validateToken(String token, UserDetails userDetails) {
-        final String userName = extractUserName(token);
-        return (userName.equals(userDetails.getUsername()) && !isTokenExpired(token));
+    private List<String> extractAuthorities(Claims claims) {
+        Object raw = claims.get(AUTHORITIES_CLAIM);
+        if (!(raw instanceof Collection<?> values)) {
+            return List.of();
+        }
+        List<String> authorities = new ArrayList<>(values.size());
+        for (Object value : values) {
+            authorities.add(String.valueOf(value));
+        }
+        return authorities;
     }
 
     /**
-     * Check if token is expired.
+     * Validate a JWT token:
+     *  - Check if username inside token matches UserDetails
+     *  - Ensure token is not expired
      */
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    public boolean validateToken(String token, UserDetails userDetails) {
+        return validateToken(verify(token), userDetails);
     }
 
     /**
-     * Extract expiration date from token.
+     * Validate an already verified token against user details without parsing it again.
      */
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    public boolean validateToken(VerifiedToken token, UserDetails userDetails) {
+        return token.getSubject() != null
+                && token.getSubject().equals(userDetails.getUsername())
+                && !token.isExpiredAt(System.currentTimeMillis());
     }
 }
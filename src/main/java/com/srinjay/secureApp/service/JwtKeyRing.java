@@ -0,0 +1,395 @@
+package com.srinjay.secureApp.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.Key;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.crypto.KeyGenerator;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.LocatorAdapter;
+
+/**
+ * JwtKeyRing holds the HmacSHA256 keys used to sign and verify JWTs.
+ *
+ *  - Every key has a key ID ("kid"); new tokens carry the kid of the active key
+ *    and verification picks the matching key with a single hash lookup
+ *  - Keys are loaded from (and saved to) the file in app.jwt.keys.file, so tokens
+ *    survive restarts and are accepted by every replica sharing that file
+ *  - With app.jwt.keys.rotation-enabled=true a new key is activated every
+ *    app.jwt.keys.rotation-interval; the previous keys keep verifying tokens
+ *    for app.jwt.keys.overlap (must be longer than the access token lifetime)
+ *
+ * Replicas sharing the file never lose each other's keys:
+ *  - the file is only read and written while holding a lock on "<file>.lock", so one
+ *    replica at a time syncs, and only the first to find the active key due rotates it
+ *  - keys read from the file are merged into the ring (and the ring's own keys written
+ *    back); a key is only dropped once it has been retired for longer than the overlap
+ *  - the newest key is the active one, so every replica settles on the same key
+ *
+ * Without a file the ring holds a single random key generated at startup,
+ * which was the original behaviour.
+ */
+@Component
+public class JwtKeyRing extends LocatorAdapter<Key> {
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    // FileChannel locks are held per JVM, so rings in one JVM sharing a file also lock here
+    private static final Map<Path, Object> LOCAL_LOCKS = new ConcurrentHashMap<>();
+
+    private final Path file;             // null = keys only live in memory
+    private final boolean rotationEnabled;
+    private final Duration rotationInterval;
+    private final Duration overlap;
+
+    // Immutable snapshot swapped atomically on load/rotation, so readers never lock
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+    private volatile FileTime loadedModifiedTime;
+
+    // Tokens verified with a key that is dropped must not keep being served from the cache
+    @Autowired(required = false)
+    private VerifiedTokenCache tokenCache;
+
+    @Autowired
+    public JwtKeyRing(@Value("${app.jwt.keys.file:}") String file,
+                      @Value("${app.jwt.keys.rotation-enabled:false}") boolean rotationEnabled,
+                      @Value("${app.jwt.keys.rotation-interval:7d}") Duration rotationInterval,
+                      @Value("${app.jwt.keys.overlap:1d}") Duration overlap) {
+        this.file = file == null || file.isBlank() ? null : Path.of(file).toAbsolutePath();
+        this.rotationEnabled = rotationEnabled;
+        this.rotationInterval = rotationInterval;
+        this.overlap = overlap;
+        if (this.file == null) {
+            snapshot = Snapshot.EMPTY.withNewActiveKey(System.currentTimeMillis());
+        } else {
+            sync(false);
+        }
+    }
+
+    /**
+     * A key ring with a single random key that is never persisted or rotated.
+     */
+    public static JwtKeyRing ephemeral() {
+        return new JwtKeyRing(null, false, Duration.ZERO, Duration.ZERO);
+    }
+
+    /**
+     * Key ID of the key new tokens are signed with.
+     */
+    public String activeKeyId() {
+        return snapshot.activeKid;
+    }
+
+    /**
+     * Key new tokens are signed with.
+     */
+    public SecretKey activeKey() {
+        Snapshot current = snapshot;
+        return current.keys.get(current.activeKid);
+    }
+
+    /**
+     * Look up a verification key by its key ID, or null if unknown.
+     */
+    public SecretKey key(String kid) {
+        return kid == null ? null : snapshot.keys.get(kid);
+    }
+
+    /**
+     * Key IDs currently accepted for verification.
+     */
+    public Set<String> keyIds() {
+        return snapshot.keys.keySet();
+    }
+
+    /**
+     * Called by the JwtParser to choose the verification key of a signed token.
+     * Tokens without a kid (issued before key IDs existed) fall back to the active key.
+     */
+    @Override
+    protected Key locate(JwsHeader header) {
+        String kid = header.getKeyId();
+        return kid == null ? activeKey() : key(kid);
+    }
+
+    /**
+     * Activate a fresh key now. The previous key stays valid for verification
+     * until the overlap window has passed.
+     */
+    public synchronized void rotate() {
+        if (file == null) {
+            long now = System.currentTimeMillis();
+            update(snapshot.withNewActiveKey(now).withoutKeysRetiredBefore(now - overlap.toMillis()));
+        } else {
+            sync(true);
+        }
+    }
+
+    /**
+     * Periodic housekeeping:
+     *  - merge in keys written to the file by another replica
+     *  - rotate the active key once it is older than the rotation interval
+     */
+    @Scheduled(fixedDelayString = "${app.jwt.keys.check-interval-ms:60000}")
+    public synchronized void maintain() {
+        boolean rotationDue = rotationEnabled
+                && System.currentTimeMillis() - snapshot.activeCreatedAt() >= rotationInterval.toMillis();
+        if (file == null) {
+            if (rotationDue) {
+                rotate();
+            }
+            return;
+        }
+        if (rotationDue || fileChanged()) {
+            sync(false);
+        }
+    }
+
+    private boolean fileChanged() {
+        try {
+            return Files.exists(file) && !Files.getLastModifiedTime(file).equals(loadedModifiedTime);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot read JWT key file " + file, e);
+        }
+    }
+
+    /**
+     * Merges the file into the ring under the file lock, rotates if asked to or if the
+     * merged active key is due, drops keys past the overlap and writes back the result
+     * when it differs from what the file holds.
+     */
+    private synchronized void sync(boolean forceRotation) {
+        Object localLock = LOCAL_LOCKS.computeIfAbsent(file, f -> new Object());
+        synchronized (localLock) {
+            try {
+                Files.createDirectories(file.getParent());
+                try (FileChannel channel = FileChannel.open(file.resolveSibling(file.getFileName() + ".lock"),
+                        StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                     FileLock lock = channel.lock()) {
+                    Snapshot stored = Files.exists(file) ? read() : Snapshot.EMPTY;
+                    long now = System.currentTimeMillis();
+                    Snapshot merged = snapshot.merge(stored);
+                    if (merged.activeKid == null || forceRotation || (rotationEnabled
+                            && now - merged.activeCreatedAt() >= rotationInterval.toMillis())) {
+                        merged = merged.withNewActiveKey(now);
+                    }
+                    merged = merged.withoutKeysRetiredBefore(now - overlap.toMillis());
+                    if (!merged.equals(stored)) {
+                        write(merged);
+                    }
+                    loadedModifiedTime = Files.getLastModifiedTime(file);
+                    update(merged);
+                }
+            } catch (IOException e) {
+                throw new IllegalStateException("Cannot sync JWT key file " + file, e);
+            }
+        }
+    }
+
+    private void update(Snapshot next) {
+        Snapshot previous = snapshot;
+        snapshot = next;
+        if (tokenCache != null && !next.keys.keySet().containsAll(previous.keys.keySet())) {
+            tokenCache.invalidateAll();
+        }
+    }
+
+    private Snapshot read() throws IOException {
+        Properties props = new Properties();
+        try (InputStream in = Files.newInputStream(file)) {
+            props.load(in);
+        }
+        return Snapshot.fromProperties(props);
+    }
+
+    private void write(Snapshot next) throws IOException {
+        Path dir = file.getParent();
+        Path tmp = Files.createTempFile(dir, ".jwt-keys", ".tmp");
+        try {
+            Files.setPosixFilePermissions(tmp, PosixFilePermissions.fromString("rw-------"));
+        } catch (UnsupportedOperationException e) {
+            // not a POSIX file system; rely on the directory permissions
+        }
+        try (OutputStream out = Files.newOutputStream(tmp)) {
+            next.toProperties().store(out, "JWT signing keys - keep secret");
+        }
+        // Atomic replace so other replicas never read a half-written file
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Immutable set of keys plus the ID of the active one.
+     */
+    private static final class Snapshot {
+
+        static final Snapshot EMPTY = new Snapshot(Map.of(), Map.of(), Map.of(), null);
+
+        final Map<String, SecretKey> keys;
+        final Map<String, Long> createdAt;  // kid -> creation time (epoch millis)
+        final Map<String, Long> retiredAt;  // kid -> time it stopped being active
+        final String activeKid;
+
+        Snapshot(Map<String, SecretKey> keys, Map<String, Long> createdAt, Map<String, Long> retiredAt, String activeKid) {
+            this.keys = Map.copyOf(keys);
+            this.createdAt = Map.copyOf(createdAt);
+            this.retiredAt = Map.copyOf(retiredAt);
+            this.activeKid = activeKid;
+        }
+
+        long activeCreatedAt() {
+            return createdAt.getOrDefault(activeKid, 0L);
+        }
+
+        /**
+         * Union of both key sets. The newest key becomes active and any other key that
+         * was still active is retired from that moment; a key retired on either side
+         * keeps its earliest retirement time.
+         */
+        Snapshot merge(Snapshot other) {
+            Map<String, SecretKey> newKeys = new HashMap<>(other.keys);
+            Map<String, Long> newCreated = new HashMap<>(other.createdAt);
+            Map<String, Long> newRetired = new HashMap<>(other.retiredAt);
+            newKeys.putAll(keys);
+            newCreated.putAll(createdAt);
+            retiredAt.forEach((kid, at) -> newRetired.merge(kid, at, Math::min));
+
+            String active = null;
+            for (String kid : newKeys.keySet()) {
+                if (active == null || newer(kid, active, newCreated)) {
+                    active = kid;
+                }
+            }
+            if (active != null) {
+                long activatedAt = newCreated.getOrDefault(active, 0L);
+                for (String kid : newKeys.keySet()) {
+                    if (!kid.equals(active)) {
+                        newRetired.putIfAbsent(kid, activatedAt);
+                    }
+                }
+                newRetired.remove(active);
+            }
+            return new Snapshot(newKeys, newCreated, newRetired, active);
+        }
+
+        // Newest creation time wins; ties are broken by kid so every replica picks the same key
+        private static boolean newer(String kid, String than, Map<String, Long> created) {
+            int byTime = Long.compare(created.getOrDefault(kid, 0L), created.getOrDefault(than, 0L));
+            return byTime > 0 || (byTime == 0 && kid.compareTo(than) > 0);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Snapshot other && Objects.equals(activeKid, other.activeKid)
+                    && keys.equals(other.keys) && createdAt.equals(other.createdAt) && retiredAt.equals(other.retiredAt);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(activeKid, keys.keySet());
+        }
+
+        Snapshot withNewActiveKey(long now) {
+            String kid = UUID.randomUUID().toString().replace("-", "").substring(0, 16);
+            Map<String, SecretKey> newKeys = new HashMap<>(keys);
+            Map<String, Long> newCreated = new HashMap<>(createdAt);
+            Map<String, Long> newRetired = new HashMap<>(retiredAt);
+            // Strictly the newest key, so merge() keeps it active even within the same millisecond
+            long created = now;
+            for (long other : createdAt.values()) {
+                created = Math.max(created, other + 1);
+            }
+            newKeys.put(kid, generateKey());
+            newCreated.put(kid, created);
+            if (activeKid != null) {
+                newRetired.put(activeKid, created);
+            }
+            return new Snapshot(newKeys, newCreated, newRetired, kid);
+        }
+
+        Snapshot withoutKeysRetiredBefore(long cutOff) {
+            Map<String, SecretKey> newKeys = new HashMap<>(keys);
+            Map<String, Long> newCreated = new HashMap<>(createdAt);
+            Map<String, Long> newRetired = new HashMap<>(retiredAt);
+            for (Map.Entry<String, Long> retired : retiredAt.entrySet()) {
+                if (retired.getValue() < cutOff) {
+                    newKeys.remove(retired.getKey());
+                    newCreated.remove(retired.getKey());
+                    newRetired.remove(retired.getKey());
+                }
+            }
+            return new Snapshot(newKeys, newCreated, newRetired, activeKid);
+        }
+
+        Properties toProperties() {
+            Properties props = new Properties();
+            props.setProperty("active", activeKid);
+            for (Map.Entry<String, SecretKey> key : keys.entrySet()) {
+                String kid = key.getKey();
+                props.setProperty("key." + kid, Base64.getEncoder().encodeToString(key.getValue().getEncoded()));
+                props.setProperty("created." + kid, String.valueOf(createdAt.getOrDefault(kid, 0L)));
+                if (retiredAt.containsKey(kid)) {
+                    props.setProperty("retired." + kid, String.valueOf(retiredAt.get(kid)));
+                }
+            }
+            return props;
+        }
+
+        static Snapshot fromProperties(Properties props) {
+            Map<String, SecretKey> keys = new HashMap<>();
+            Map<String, Long> created = new HashMap<>();
+            Map<String, Long> retired = new HashMap<>();
+            for (String name : props.stringPropertyNames()) {
+                if (name.startsWith("key.")) {
+                    String kid = name.substring("key.".length());
+                    byte[] bytes = Base64.getDecoder().decode(props.getProperty(name));
+                    keys.put(kid, new SecretKeySpec(bytes, ALGORITHM));
+                    created.put(kid, Long.parseLong(props.getProperty("created." + kid, "0")));
+                    String retiredValue = props.getProperty("retired." + kid);
+                    if (retiredValue != null) {
+                        retired.put(kid, Long.parseLong(retiredValue));
+                    }
+                }
+            }
+            String active = props.getProperty("active");
+            if (active == null || !keys.containsKey(active)) {
+                throw new IllegalStateException("JWT key file has no usable active key");
+            }
+            return new Snapshot(keys, created, retired, active);
+        }
+
+        private static SecretKey generateKey() {
+            try {
+                return KeyGenerator.getInstance(ALGORITHM).generateKey();
+            } catch (NoSuchAlgorithmException e) {
+                throw new RuntimeException(e);
+            }
+        }
+    }
+}
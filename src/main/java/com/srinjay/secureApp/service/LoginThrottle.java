@@ -0,0 +1,203 @@
+package com.srinjay.secureApp.service;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * LoginThrottle protects the CPU from BCrypt floods on /login.
+ *
+ *  - Every attempt must take a token from two lock-free token buckets: one for
+ *    the username and one for the client IP. Without a token the attempt is
+ *    rejected before any password hashing happens.
+ *  - Repeated failed logins lock the username for a while; the lock is reported
+ *    through UserPrincipal.isAccountNonLocked, so Spring Security refuses the
+ *    login before comparing the password. When the lock ends the failure count
+ *    starts again from zero.
+ *  - Buckets and failure counters live in size-bounded caches, so memory stays
+ *    flat no matter how many distinct usernames or IPs are seen.
+ */
+@Component
+public class LoginThrottle {
+
+    private final Cache<String, TokenBucket> userBuckets;
+    private final Cache<String, TokenBucket> ipBuckets;
+    private final Cache<String, FailureCounter> failures;
+
+    private final long userCapacity;
+    private final long userRefillNanos;   // time to earn one token back
+    private final long ipCapacity;
+    private final long ipRefillNanos;
+    private final int maxFailures;
+    private final long lockNanos;
+
+    private final LongAdder allowed = new LongAdder();
+    private final LongAdder throttled = new LongAdder();
+    private final LongAdder locked = new LongAdder();
+
+    public LoginThrottle(@Value("${app.login-throttle.user.capacity:5}") long userCapacity,
+                         @Value("${app.login-throttle.user.refill-period:10s}") Duration userRefillPeriod,
+                         @Value("${app.login-throttle.ip.capacity:20}") long ipCapacity,
+                         @Value("${app.login-throttle.ip.refill-period:1s}") Duration ipRefillPeriod,
+                         @Value("${app.login-throttle.max-failures:5}") int maxFailures,
+                         @Value("${app.login-throttle.lock-duration:15m}") Duration lockDuration,
+                         @Value("${app.login-throttle.max-keys:100000}") long maxKeys) {
+        this.userCapacity = userCapacity;
+        this.userRefillNanos = userRefillPeriod.toNanos();
+        this.ipCapacity = ipCapacity;
+        this.ipRefillNanos = ipRefillPeriod.toNanos();
+        this.maxFailures = maxFailures;
+        this.lockNanos = lockDuration.toNanos();
+
+        // An idle bucket refills completely, so it can be dropped and recreated full later
+        this.userBuckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(Duration.ofNanos(Math.max(1, userRefillNanos * userCapacity)))
+                .build();
+        this.ipBuckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(Duration.ofNanos(Math.max(1, ipRefillNanos * ipCapacity)))
+                .build();
+        // Failures are forgotten after a quiet period as long as a lock
+        this.failures = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(lockDuration)
+                .build();
+    }
+
+    /**
+     * Take one login attempt from the username and IP buckets.
+     *
+     * @return true if the attempt may go ahead, false if it must be rejected (429)
+     */
+    public boolean tryAcquire(String username, String clientIp) {
+        long now = System.nanoTime();
+        boolean ok = (clientIp == null
+                        || ipBuckets.get(clientIp, k -> new TokenBucket(ipCapacity, now)).tryTake(now, ipCapacity, ipRefillNanos))
+                && (username == null
+                        || userBuckets.get(username, k -> new TokenBucket(userCapacity, now)).tryTake(now, userCapacity, userRefillNanos));
+        if (ok) {
+            allowed.increment();
+        } else {
+            throttled.increment();
+        }
+        return ok;
+    }
+
+    /**
+     * Whether the username is temporarily locked after too many failed logins.
+     */
+    public boolean isLocked(String username) {
+        FailureCounter counter = failures.getIfPresent(username);
+        return counter != null && counter.isLocked(System.nanoTime());
+    }
+
+    /**
+     * Record a failed login; the username is locked once it reaches the failure limit.
+     */
+    public void recordFailure(String username) {
+        if (username == null) {
+            return;
+        }
+        failures.get(username, k -> new FailureCounter()).recordFailure(System.nanoTime(), maxFailures, lockNanos);
+    }
+
+    /**
+     * Record a login that was refused because the account is locked.
+     */
+    public void recordLocked() {
+        locked.increment();
+    }
+
+    /**
+     * Forget previous failures after a successful login.
+     */
+    public void recordSuccess(String username) {
+        if (username != null) {
+            failures.invalidate(username);
+        }
+    }
+
+    public long getAllowedCount() {
+        return allowed.sum();
+    }
+
+    public long getThrottledCount() {
+        return throttled.sum();
+    }
+
+    public long getLockedCount() {
+        return locked.sum();
+    }
+
+    /**
+     * Token bucket updated with compare-and-set only, so concurrent logins never block.
+     */
+    private static final class TokenBucket {
+
+        private final AtomicReference<State> state;
+
+        TokenBucket(long capacity, long now) {
+            this.state = new AtomicReference<>(new State(capacity, now));
+        }
+
+        boolean tryTake(long now, long capacity, long refillNanos) {
+            while (true) {
+                State current = state.get();
+                long earned = refillNanos <= 0 ? capacity : (now - current.lastRefill) / refillNanos;
+                long tokens = Math.min(capacity, current.tokens + earned);
+                // Move the refill clock only by whole tokens earned, keeping the remainder
+                long lastRefill = tokens == capacity ? now : current.lastRefill + earned * refillNanos;
+                if (tokens <= 0) {
+                    return false;
+                }
+                if (state.compareAndSet(current, new State(tokens - 1, lastRefill))) {
+                    return true;
+                }
+            }
+        }
+
+        private record State(long tokens, long lastRefill) {
+        }
+    }
+
+    /**
+     * Failed-login count of one username and the end of its lock, if any.
+     * Both change together with compare-and-set, so an expired lock and its
+     * count are reset in the same step.
+     */
+    private static final class FailureCounter {
+
+        private final AtomicReference<State> state = new AtomicReference<>(new State(0, 0));
+
+        void recordFailure(long now, int maxFailures, long lockNanos) {
+            while (true) {
+                State current = state.get();
+                // A lock that has run out starts a new round of failures
+                State base = current.isLocked(now) || current.lockedUntil == 0 ? current : new State(0, 0);
+                long count = base.count + 1;
+                State next = new State(count, count >= maxFailures ? now + lockNanos : base.lockedUntil);
+                if (state.compareAndSet(current, next)) {
+                    return;
+                }
+            }
+        }
+
+        boolean isLocked(long now) {
+            return state.get().isLocked(now);
+        }
+
+        private record State(long count, long lockedUntil) { // lockedUntil: System.nanoTime() value; 0 = not locked
+
+            boolean isLocked(long now) {
+                return lockedUntil != 0 && now - lockedUntil < 0;
+            }
+        }
+    }
+}
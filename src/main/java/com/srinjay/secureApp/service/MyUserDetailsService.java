@@ -1,11 +1,25 @@
 package com.srinjay.secureApp.service;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.LongAdder;
+
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import com.srinjay.secureApp.model.UserPrincipal;
 import com.srinjay.secureApp.model.Users;
 import com.srinjay.secureApp.repo.UserRepo;
@@ -13,29 +27,189 @@ import com.srinjay.secureApp.repo.UserRepo;
 @Service
 // Marks this class as a Spring-managed service component.
 // Spring will auto-detect it and create a bean for dependency injection.
-public class MyUserDetailsService implements UserDetailsService {
+public class MyUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
     
     @Autowired
     private UserRepo repo; 
     // Injects the UserRepo so we can fetch user details from the database.
 
+    @Autowired
+    private LoginThrottle loginThrottle;
+    // Temporarily locks usernames after repeated failed logins.
+
+    private final AsyncCache<String, UserDetails> userCache;
+    // Caches loaded users so JwtFilter does not query the database on every request.
+    // Bounded by app.user-cache.max-size entries; each entry lives for app.user-cache.ttl.
+    // Async (future-valued) so a miss is loaded outside the cache's internal lock: a plain
+    // Cache.get(key, loader) runs the JDBC query inside a synchronized block, which pins
+    // the carrier thread when requests run on virtual threads.
+
+    private final Cache<String, Boolean> unknownUsers;
+    // Negative cache: usernames the database did not know, answered without a query.
+    // Short TTL (app.user-cache.negative-ttl) so users registered elsewhere show up soon.
+
+    @Autowired
+    private UsernameFilter usernameFilter;
+    // Optional bloom filter of all usernames; "certainly absent" needs no query at all.
+
+    @Autowired
+    private AuthMetrics metrics;
+    // Lookup timers tagged cached / found / unknown_user.
+
+    private final LongAdder negativeHits = new LongAdder();
+
+    private final Set<String> adminUsernames;
+    // Users listed in app.security.admin-usernames also get the "ADMIN" authority.
+
+    public MyUserDetailsService(@Value("${app.user-cache.max-size:10000}") long maxSize,
+                                @Value("${app.user-cache.ttl:5m}") Duration ttl,
+                                @Value("${app.user-cache.negative-max-size:100000}") long negativeMaxSize,
+                                @Value("${app.user-cache.negative-ttl:30s}") Duration negativeTtl,
+                                @Value("${app.security.admin-usernames:}") Set<String> adminUsernames) {
+        this.adminUsernames = Set.copyOf(adminUsernames);
+        this.userCache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats() // hit ratio and load latency
+                .buildAsync();
+        this.unknownUsers = Caffeine.newBuilder()
+                .maximumSize(negativeMaxSize)
+                .expireAfterWrite(negativeTtl)
+                .build();
+    }
+
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        // This method is called automatically by Spring Security when a user tries to log in.
-        // It loads user details based on the provided username.
+        // This method is called automatically by Spring Security when a user tries to log in,
+        // and by JwtFilter on every authenticated request.
+        // Users are served from the cache; only a miss goes to the database.
+        UserDetails user = findUser(username);
+        if (user == null) {
+            throw new UsernameNotFoundException(username + " not found");
+            // If no user exists, throw exception (mandatory for Spring Security).
+        }
+        return user;
+    }
+
+    /**
+     * Same lookup as loadUserByUsername, but returns null for unknown users instead of
+     * throwing, so callers on the hot path (JwtFilter) never pay for an exception.
+     *
+     * Order: user cache -> negative cache -> username bloom filter -> database.
+     */
+    public UserDetails findUser(String username) {
+        long start = System.nanoTime();
+        CompletableFuture<UserDetails> cached = userCache.getIfPresent(username);
+        if (cached != null) {
+            UserDetails user = join(cached); // done, or being loaded by another request
+            metrics.recordUserLookup(user == null ? AuthMetrics.UNKNOWN_USER : AuthMetrics.CACHED, System.nanoTime() - start);
+            return user;
+        }
+        if (unknownUsers.getIfPresent(username) != null) {
+            negativeHits.increment();
+            metrics.recordUserLookup(AuthMetrics.UNKNOWN_USER, System.nanoTime() - start);
+            return null;
+        }
+        if (!usernameFilter.mightExist(username)) {
+            metrics.recordUserLookup(AuthMetrics.UNKNOWN_USER, System.nanoTime() - start);
+            return null;
+        }
+        // Concurrent misses for one user share a single query; the first caller runs it on
+        // its own thread after the cache has registered the pending future.
+        CompletableFuture<UserDetails> loading = new CompletableFuture<>();
+        CompletableFuture<UserDetails> future = userCache.get(username, (key, executor) -> loading);
+        if (future == loading) {
+            try {
+                loading.complete(loadFromDatabase(username)); // a null result is not cached
+            } catch (RuntimeException e) {
+                loading.completeExceptionally(e);
+            }
+        }
+        UserDetails user = join(future);
+        if (user == null) {
+            unknownUsers.put(username, Boolean.TRUE);
+        }
+        metrics.recordUserLookup(user == null ? AuthMetrics.UNKNOWN_USER : AuthMetrics.FOUND, System.nanoTime() - start);
+        return user;
+    }
+
+    /**
+     * Store a re-encoded password hash. Called by DaoAuthenticationProvider after a
+     * successful login when the stored hash's BCrypt strength differs from the current one.
+     * The password itself is unchanged, so existing tokens stay valid.
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        Users entity = repo.findByUsername(user.getUsername());
+        if (entity == null) {
+            return user;
+        }
+        entity.setPassword(newPassword);
+        repo.save(entity);
+        evict(entity.getUsername());
+        UserDetails updated = findUser(entity.getUsername());
+        return updated != null ? updated : user;
+    }
+
+    /**
+     * Forget the cached copy of a user, so the next lookup reads the database again.
+     */
+    public void evict(String username) {
+        if (username != null) {
+            userCache.synchronous().invalidate(username);
+            unknownUsers.invalidate(username);
+        }
+    }
 
+    /**
+     * Must be called whenever a user is saved or changed: drops stale cache entries
+     * and records the username in the bloom filter.
+     */
+    public void onUserSaved(String username) {
+        evict(username);
+        usernameFilter.add(username);
+    }
+
+    /**
+     * Number of unknown-username lookups answered by the negative cache.
+     */
+    public long negativeCacheHits() {
+        return negativeHits.sum();
+    }
+
+    /**
+     * Cache statistics: hit ratio, load count and average load latency (nanoseconds).
+     */
+    public CacheStats cacheStats() {
+        return userCache.synchronous().stats();
+    }
+
+    // Wait for a cached or in-flight lookup; a failed load rethrows its original exception
+    private static UserDetails join(CompletableFuture<UserDetails> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private UserDetails loadFromDatabase(String username) {
         Users user = repo.findByUsername(username);
         // Query the database for the user with the given username.
 
         if (user == null) {
-            System.out.println("User Not Found");
-            throw new UsernameNotFoundException(username + " not found");
-            // If no user exists in DB, throw exception (mandatory for Spring Security).
+            return null; // not cached here; findUser() records it in the negative cache and metrics
         }
 
         // If found, wrap our custom Users entity inside UserPrincipal
         // UserPrincipal implements Spring Security's UserDetails interface
         // so that Spring Security can understand roles, username, and password.
-        return new UserPrincipal(user);
+        List<SimpleGrantedAuthority> authorities = adminUsernames.contains(user.getUsername())
+                ? List.of(new SimpleGrantedAuthority("USER"), new SimpleGrantedAuthority("ADMIN"))
+                : List.of(new SimpleGrantedAuthority("USER"));
+        return new UserPrincipal(user, authorities, () -> !loginThrottle.isLocked(username));
     }
 }
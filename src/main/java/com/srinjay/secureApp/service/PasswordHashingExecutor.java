@@ -0,0 +1,173 @@
+package com.srinjay.secureApp.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * PasswordHashingExecutor runs BCrypt-heavy work (login and register) on a
+ * dedicated, bounded thread pool instead of on Tomcat request threads.
+ *
+ * - Pool size defaults to the number of CPU cores (app.hashing.threads),
+ *   since hashing is pure CPU work and more threads would not go faster
+ * - The queue is bounded (app.hashing.queue-capacity); when it is full the
+ *   request is rejected at once with 503 instead of waiting forever
+ * - Bulk work (mapAll) is throttled to one task per thread so it cannot
+ *   crowd interactive requests out of the queue
+ * - Exposes queue depth, rejections and hash latency for monitoring
+ */
+@Component
+public class PasswordHashingExecutor {
+
+    private final ThreadPoolExecutor pool;
+
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder totalHashNanos = new LongAdder();
+
+    public PasswordHashingExecutor(@Value("${app.hashing.threads:0}") int threads,
+                                   @Value("${app.hashing.queue-capacity:64}") int queueCapacity) {
+        int size = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.pool = new ThreadPoolExecutor(
+                size, size,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new HashingThreadFactory(),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Run a hashing task on the pool.
+     *
+     * @param task work that performs password hashing (e.g. register or login)
+     * @return future completed with the task's result or exception
+     * @throws ResponseStatusException with 503 if the pool and its queue are full
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                long start = System.nanoTime();
+                try {
+                    return task.get();
+                } finally {
+                    totalHashNanos.add(System.nanoTime() - start);
+                    completed.increment();
+                }
+            }, pool);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Password hashing capacity exhausted", e);
+        }
+    }
+
+    /**
+     * Apply a hashing function to every item on the pool, for bulk work.
+     *
+     * At most one task per pool thread is in flight at a time, so a large batch
+     * keeps every core busy but never fills the queue that interactive logins
+     * and registrations rely on. Blocks until all items are done.
+     *
+     * @return results in the order of the items
+     * @throws ResponseStatusException with 503 if the pool is saturated by other work
+     */
+    public <T, R> List<R> mapAll(List<T> items, Function<T, R> task) {
+        Semaphore inFlight = new Semaphore(pool.getCorePoolSize());
+        List<CompletableFuture<R>> futures = new ArrayList<>(items.size());
+        try {
+            for (T item : items) {
+                inFlight.acquire();
+                CompletableFuture<R> future;
+                try {
+                    future = submit(() -> task.apply(item));
+                } catch (ResponseStatusException e) {
+                    inFlight.release();
+                    throw e;
+                }
+                future.whenComplete((result, error) -> inFlight.release());
+                futures.add(future);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            futures.forEach(future -> future.cancel(false));
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Interrupted while hashing", e);
+        }
+        List<R> results = new ArrayList<>(futures.size());
+        for (CompletableFuture<R> future : futures) {
+            results.add(future.join());
+        }
+        return results;
+    }
+
+    /**
+     * Number of tasks waiting for a hashing thread.
+     */
+    public int getQueueDepth() {
+        return pool.getQueue().size();
+    }
+
+    /**
+     * Number of threads currently hashing.
+     */
+    public int getActiveCount() {
+        return pool.getActiveCount();
+    }
+
+    /**
+     * Number of tasks turned away because the pool was saturated.
+     */
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    /**
+     * Number of tasks that finished (successfully or not).
+     */
+    public long getCompletedCount() {
+        return completed.sum();
+    }
+
+    /**
+     * Average time a task spent running on a hashing thread, in nanoseconds.
+     */
+    public long getAverageHashNanos() {
+        long count = completed.sum();
+        return count == 0 ? 0 : totalHashNanos.sum() / count;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    /**
+     * Names hashing threads so they are easy to spot in thread dumps.
+     */
+    private static final class HashingThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, "password-hashing-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.srinjay.secureApp.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.srinjay.secureApp.model.RefreshToken;
+import com.srinjay.secureApp.repo.RefreshTokenRepo;
+
+/**
+ * RefreshTokenService issues and rotates refresh tokens.
+ *
+ *  - A refresh token is a random, opaque string handed out at login
+ *  - Only its SHA-256 hash is stored (refresh_token table), so it can be revoked
+ *  - Every use rotates it: the presented token is deleted and a new one issued
+ *
+ * Renewing a session this way costs one indexed lookup instead of a BCrypt check.
+ */
+@Service
+public class RefreshTokenService {
+
+    private static final int TOKEN_BYTES = 32;
+
+    @Autowired
+    private RefreshTokenRepo repo; // Stores hashes of issued refresh tokens
+
+    private final SecureRandom random = new SecureRandom();
+
+    @Value("${app.refresh-token.ttl:7d}")
+    private Duration ttl; // Lifetime of a refresh token
+
+    /**
+     * Issue a new refresh token for a user.
+     *
+     * @return the raw token, to be returned to the client exactly once
+     */
+    @Transactional
+    public String issue(String username) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        RefreshToken token = new RefreshToken();
+        token.setTokenHash(hash(rawToken));
+        token.setUsername(username);
+        token.setExpiresAt(System.currentTimeMillis() + ttl.toMillis());
+        repo.save(token);
+        return rawToken;
+    }
+
+    /**
+     * Consume a refresh token: it is deleted so it can never be used again.
+     * The delete is conditional, so of two requests presenting the same token at
+     * once exactly one wins; the other deletes no row and is refused like a reused token.
+     *
+     * @return username the token was issued for
+     * @throws BadCredentialsException if the token is unknown, already used or expired
+     */
+    @Transactional
+    public String consume(String rawToken) {
+        if (rawToken == null || rawToken.isEmpty()) {
+            throw new BadCredentialsException("Invalid refresh token");
+        }
+        RefreshToken token = repo.findById(hash(rawToken))
+                .orElseThrow(() -> new BadCredentialsException("Invalid refresh token"));
+        if (token.getExpiresAt() < System.currentTimeMillis()) {
+            throw new BadCredentialsException("Refresh token expired"); // removed later by purgeExpired()
+        }
+        if (repo.deleteByTokenHash(token.getTokenHash()) == 0) {
+            throw new BadCredentialsException("Invalid refresh token"); // used concurrently
+        }
+        return token.getUsername();
+    }
+
+    /**
+     * Revoke a single refresh token (e.g. on logout). Unknown tokens are ignored.
+     */
+    @Transactional
+    public void revoke(String rawToken) {
+        if (rawToken != null && !rawToken.isEmpty()) {
+            repo.deleteByTokenHash(hash(rawToken));
+        }
+    }
+
+    /**
+     * Revoke every refresh token of a user (e.g. on logout everywhere).
+     */
+    @Transactional
+    public int revokeAll(String username) {
+        return repo.deleteAllByUsername(username);
+    }
+
+    /**
+     * Periodically remove expired tokens so the table does not grow forever.
+     */
+    @Scheduled(fixedDelayString = "${app.refresh-token.purge-interval-ms:3600000}",
+               initialDelayString = "${app.refresh-token.purge-interval-ms:3600000}")
+    @Transactional
+    public void purgeExpired() {
+        repo.deleteAllExpiredBefore(System.currentTimeMillis());
+    }
+
+    private static String hash(String rawToken) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            byte[] digest = sha256.digest(rawToken.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.srinjay.secureApp.service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import org.springframework.stereotype.Component;
+
+import com.srinjay.secureApp.model.Student;
+
+/**
+ * In-memory search index over Student.name for autocomplete.
+ *
+ *  - Prefix: a sorted map of every lower-cased word suffix of the name
+ *    ("moumita das" -> "moumita das", "das"), so "da" finds the student by
+ *    its last name too; a query is one range scan, O(log n + k). Keys are cut
+ *    to MAX_KEY_LENGTH characters, so a name costs O(words) key space rather
+ *    than O(length * words); longer queries are checked against the name
+ *  - Substring: an inverted index of character trigrams; a query walks the
+ *    posting list of its rarest trigram and checks each candidate
+ *
+ * Updated incrementally on every write (see StudentService); case-insensitive.
+ */
+@Component
+public class StudentNameIndex {
+
+    private static final char SEPARATOR = '\u0000'; // sorts before every real character
+    private static final int MAX_KEY_LENGTH = 32;
+
+    private final ConcurrentHashMap<Integer, Student> byId = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<String, Student> prefixes = new ConcurrentSkipListMap<>();
+    private final ConcurrentHashMap<String, Set<Integer>> trigrams = new ConcurrentHashMap<>();
+
+    /**
+     * Index a stored student, replacing whatever was indexed under its id.
+     */
+    public void put(Student student) {
+        byId.compute(student.getId(), (id, old) -> {
+            if (old != null) {
+                unindex(old);
+            }
+            index(student);
+            return student;
+        });
+    }
+
+    /**
+     * Up to limit students whose name (or a word in it) starts with the query,
+     * followed by students whose name merely contains it.
+     */
+    public List<Student> search(String query, int limit) {
+        String q = normalize(query);
+        if (q.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        Map<Integer, Student> result = new LinkedHashMap<>();
+
+        // 1. Prefix matches, in name order
+        String key = truncate(q);
+        for (Student student : prefixes.subMap(key, true, key + Character.MAX_VALUE, true).values()) {
+            if (key.length() < q.length() && !hasWordStartingWith(normalize(student.getName()), q)) {
+                continue; // matched only the truncated key
+            }
+            result.putIfAbsent(student.getId(), student);
+            if (result.size() >= limit) {
+                return new ArrayList<>(result.values());
+            }
+        }
+
+        // 2. Substring matches through the rarest trigram of the query
+        if (q.length() >= 3) {
+            Set<Integer> candidates = null;
+            for (int i = 0; i + 3 <= q.length(); i++) {
+                Set<Integer> posting = trigrams.get(q.substring(i, i + 3));
+                if (posting == null) {
+                    return new ArrayList<>(result.values()); // some trigram never occurs
+                }
+                if (candidates == null || posting.size() < candidates.size()) {
+                    candidates = posting;
+                }
+            }
+            for (Integer id : candidates) {
+                Student student = byId.get(id);
+                if (student != null && normalize(student.getName()).contains(q)) {
+                    result.putIfAbsent(id, student);
+                    if (result.size() >= limit) {
+                        break;
+                    }
+                }
+            }
+        }
+        return new ArrayList<>(result.values());
+    }
+
+    public int size() {
+        return byId.size();
+    }
+
+    private void index(Student student) {
+        String name = normalize(student.getName());
+        for (int start : wordStarts(name)) {
+            prefixes.put(prefixKey(name, start, student.getId()), student);
+        }
+        for (String trigram : trigramsOf(name)) {
+            trigrams.compute(trigram, (t, posting) -> {
+                Set<Integer> ids = posting != null ? posting : ConcurrentHashMap.<Integer>newKeySet();
+                ids.add(student.getId());
+                return ids;
+            });
+        }
+    }
+
+    private void unindex(Student student) {
+        String name = normalize(student.getName());
+        for (int start : wordStarts(name)) {
+            prefixes.remove(prefixKey(name, start, student.getId()));
+        }
+        // Postings are added and removed inside compute(), so a set is never dropped
+        // while another write is adding to it; an empty set is removed with its key
+        for (String trigram : trigramsOf(name)) {
+            trigrams.computeIfPresent(trigram, (t, posting) -> {
+                posting.remove(student.getId());
+                return posting.isEmpty() ? null : posting;
+            });
+        }
+    }
+
+    // The name from one word start on, cut to MAX_KEY_LENGTH, plus the id to keep keys unique
+    private static String prefixKey(String name, int start, int id) {
+        return name.substring(start, Math.min(name.length(), start + MAX_KEY_LENGTH)) + SEPARATOR + id;
+    }
+
+    private static String truncate(String text) {
+        return text.length() > MAX_KEY_LENGTH ? text.substring(0, MAX_KEY_LENGTH) : text;
+    }
+
+    private static boolean hasWordStartingWith(String name, String prefix) {
+        for (int start : wordStarts(name)) {
+            if (name.startsWith(prefix, start)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<Integer> wordStarts(String name) {
+        List<Integer> starts = new ArrayList<>(2);
+        for (int i = 0; i < name.length(); i++) {
+            if (!Character.isWhitespace(name.charAt(i)) && (i == 0 || Character.isWhitespace(name.charAt(i - 1)))) {
+                starts.add(i);
+            }
+        }
+        return starts;
+    }
+
+    private static Set<String> trigramsOf(String name) {
+        Set<String> result = new HashSet<>();
+        for (int i = 0; i + 3 <= name.length(); i++) {
+            result.add(name.substring(i, i + 3));
+        }
+        return result;
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.trim().toLowerCase(Locale.ROOT);
+    }
+}
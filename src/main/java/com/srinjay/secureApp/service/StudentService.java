@@ -0,0 +1,532 @@
+package com.srinjay.secureApp.service;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.BitSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.srinjay.secureApp.model.EncodedStudents;
+import com.srinjay.secureApp.model.ImportReport;
+import com.srinjay.secureApp.model.MarksStats;
+import com.srinjay.secureApp.model.Student;
+import com.srinjay.secureApp.model.StudentPage;
+import com.srinjay.secureApp.repo.StudentStore;
+
+/**
+ * StudentService handles:
+ *  - Listing students, served from a pre-serialized copy rebuilt only after writes
+ *  - Reading students page by page with opaque keyset cursors
+ *  - Streaming every student as NDJSON or CSV with constant memory
+ *  - Bulk importing students from NDJSON or CSV in batches
+ *  - Adding (or replacing) students in the thread-safe StudentStore
+ */
+@Service
+public class StudentService {
+
+    public static final int MAX_PAGE_SIZE = 1000;
+    public static final int MAX_SEARCH_RESULTS = 100;
+
+    private static final String SORT_BY_ID = "id";
+    private static final String SORT_BY_MARKS = "marks";
+
+    public static final String EXPORT_NDJSON = "ndjson";
+    public static final String EXPORT_CSV = "csv";
+
+    // Row validation for bulk imports
+    private static final int MAX_NAME_LENGTH = 255;
+    private static final int MIN_MARKS = 0;
+    private static final int MAX_MARKS = 100;
+
+    private static final int WRITE_STRIPES = 64;
+
+    @Autowired
+    private StudentStore store; // Concurrent, indexed student storage (in memory or JPA)
+
+    @Autowired
+    private ObjectMapper objectMapper; // Spring's shared JSON mapper, used for NDJSON rows
+
+    @Autowired
+    private StudentNameIndex nameIndex; // Prefix/substring index over names, updated on every write
+
+    @Autowired
+    private StudentStats stats; // Marks aggregates, updated on every write
+
+    @Value("${app.students.export.batch-size:1000}")
+    private int exportBatchSize = 1000; // rows read from the store and flushed to the client at a time
+
+    @Value("${app.students.import.batch-size:500}")
+    private int importBatchSize = 500; // rows written to the store per batch
+
+    @Value("${app.students.import.max-errors:1000}")
+    private int importMaxErrors = 1000; // rejected rows listed in the report
+
+    @Value("${app.students.cache.gzip:true}")
+    private boolean cacheGzip = true; // also keep a gzip-compressed copy of the list
+
+    // JSON of the full list for the store version it was built from; rebuilt lazily after a write
+    private volatile EncodedStudents encodedStudents;
+
+    // A write holds the stripe of every id it touches from the store write until the name
+    // index and stats are updated, so all three see writes to one student in the same order.
+    // Writes share the rebuild lock; rebuildIndexes() takes it exclusively.
+    private final ReentrantLock[] writeStripes = newStripes(WRITE_STRIPES);
+    private final ReadWriteLock rebuildLock = new ReentrantReadWriteLock();
+
+    /**
+     * All students ordered by id.
+     */
+    public List<Student> getStudents() {
+        return store.findAll();
+    }
+
+    /**
+     * The full student list as ready-to-send bytes with a strong ETag.
+     *
+     * The bytes are built once per store version: as long as nobody writes, every
+     * call returns the same cached instance without touching Jackson.
+     *
+     * With app.students.store=jpa the version only counts writes made through this
+     * instance. Rows written by another replica (or directly in the database) are not
+     * seen here until this instance writes itself, and until then the old bytes are
+     * served with their still-valid ETag. Use the JPA store with one replica, or route
+     * all student writes and reads to the same one.
+     */
+    public EncodedStudents getEncodedStudents() throws IOException {
+        EncodedStudents current = encodedStudents;
+        if (current != null && current.getVersion() == store.version()) {
+            return current;
+        }
+        synchronized (this) {
+            // Another thread may have rebuilt it while we waited
+            current = encodedStudents;
+            long version = store.version(); // read before the data, so a concurrent write forces another rebuild
+            if (current != null && current.getVersion() == version) {
+                return current;
+            }
+            byte[] json = objectMapper.writeValueAsBytes(store.findAll());
+            byte[] gzip = cacheGzip ? gzip(json) : null;
+            current = new EncodedStudents(version, json, gzip, etag(json));
+            encodedStudents = current;
+            return current;
+        }
+    }
+
+    private static byte[] gzip(byte[] data) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(data.length / 4 + 64);
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(data);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Strong ETag derived from the content, so it stays valid across restarts and replicas.
+     */
+    private static String etag(byte[] data) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(data);
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Add a student, replacing any student with the same id.
+     *
+     * @param student student from request
+     * @return the stored student
+     */
+    public Student addStudent(Student student) {
+        return writeLocked(List.of(student), () -> {
+            Student previous = store.save(student);
+            onSaved(previous, student);
+            return student;
+        });
+    }
+
+    /**
+     * Marks statistics (count, average, min/max, percentiles, histogram) in O(1).
+     */
+    public MarksStats getStats() {
+        return stats.snapshot();
+    }
+
+    /**
+     * Case-insensitive name search for autocomplete: prefix matches (of the name or
+     * any word in it) first, then substring matches.
+     *
+     * @param query text typed so far
+     * @param limit maximum number of results (1..MAX_SEARCH_RESULTS)
+     */
+    public List<Student> search(String query, int limit) {
+        if (limit < 1 || limit > MAX_SEARCH_RESULTS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit must be between 1 and " + MAX_SEARCH_RESULTS);
+        }
+        return nameIndex.search(query, limit);
+    }
+
+    /**
+     * Load every stored student into the in-memory indexes and aggregates once the
+     * application is ready. Reads the store in keyset batches, so it works the same
+     * for the JPA store. Writes wait until the rebuild is done, so none is counted
+     * twice or lost between clearing the stats and reading the store.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIndexes() {
+        rebuildLock.writeLock().lock();
+        try {
+            stats.clear();
+            Integer afterId = null;
+            while (true) {
+                List<Student> batch = store.findPageOrderById(afterId, Integer.MIN_VALUE, Integer.MAX_VALUE, exportBatchSize);
+                for (Student student : batch) {
+                    onSaved(null, student);
+                }
+                if (batch.size() < exportBatchSize) {
+                    return;
+                }
+                afterId = batch.get(batch.size() - 1).getId();
+            }
+        } finally {
+            rebuildLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Keep the in-memory indexes and aggregates in step with the store after a student
+     * was written; previous is the student the write replaced (null if new).
+     */
+    private void onSaved(Student previous, Student student) {
+        nameIndex.put(new Student(student.getId(), student.getName(), student.getMarks()));
+        stats.record(previous, student);
+    }
+
+    /**
+     * Run a write to the given students while holding their stripes (taken in index
+     * order, so overlapping batches cannot deadlock) and the shared side of the rebuild lock.
+     */
+    private <T> T writeLocked(List<Student> students, Supplier<T> write) {
+        BitSet stripes = new BitSet(WRITE_STRIPES);
+        for (Student student : students) {
+            stripes.set(Math.floorMod(student.getId(), WRITE_STRIPES));
+        }
+        rebuildLock.readLock().lock();
+        int locked = 0;
+        try {
+            for (int i = stripes.nextSetBit(0); i >= 0; i = stripes.nextSetBit(i + 1)) {
+                writeStripes[i].lock();
+                locked = i + 1;
+            }
+            return write.get();
+        } finally {
+            for (int i = stripes.previousSetBit(locked - 1); i >= 0; i = stripes.previousSetBit(i - 1)) {
+                writeStripes[i].unlock();
+            }
+            rebuildLock.readLock().unlock();
+        }
+    }
+
+    private static ReentrantLock[] newStripes(int count) {
+        ReentrantLock[] stripes = new ReentrantLock[count];
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        return stripes;
+    }
+
+    /**
+     * Read one page of students.
+     *
+     * Pages are keyset based: the cursor remembers the last (id) or (marks, id)
+     * returned, and the next page starts right after it. Going deeper therefore
+     * never scans the skipped rows.
+     *
+     * @param limit page size (1..MAX_PAGE_SIZE)
+     * @param cursor cursor from the previous page, or null for the first page
+     * @param sort "id" or "marks"
+     * @param minMarks lowest marks to include (null = no lower bound)
+     * @param maxMarks highest marks to include (null = no upper bound)
+     */
+    public StudentPage getPage(int limit, String cursor, String sort, Integer minMarks, Integer maxMarks) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        int min = minMarks == null ? Integer.MIN_VALUE : minMarks;
+        int max = maxMarks == null ? Integer.MAX_VALUE : maxMarks;
+        int[] after = decodeCursor(cursor, sort);
+
+        // Fetch one extra row to learn whether another page follows
+        List<Student> rows;
+        if (SORT_BY_MARKS.equals(sort)) {
+            rows = store.findPageOrderByMarks(after == null ? null : after[0], after == null ? null : after[1],
+                    min, max, limit + 1);
+        } else if (SORT_BY_ID.equals(sort)) {
+            rows = store.findPageOrderById(after == null ? null : after[0], min, max, limit + 1);
+        } else {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "sort must be 'id' or 'marks'");
+        }
+
+        if (rows.size() <= limit) {
+            return new StudentPage(rows, null);
+        }
+        List<Student> items = rows.subList(0, limit);
+        Student last = items.get(limit - 1);
+        return new StudentPage(List.copyOf(items), encodeCursor(last, sort));
+    }
+
+    private static String encodeCursor(Student last, String sort) {
+        String raw = SORT_BY_MARKS.equals(sort)
+                ? SORT_BY_MARKS + ":" + last.getMarks() + ":" + last.getId()
+                : SORT_BY_ID + ":" + last.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * @return null for the first page, {id} for id order, {marks, id} for marks order
+     */
+    private static int[] decodeCursor(String cursor, String sort) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII).split(":");
+            if (SORT_BY_ID.equals(sort) && parts.length == 2 && SORT_BY_ID.equals(parts[0])) {
+                return new int[] { Integer.parseInt(parts[1]) };
+            }
+            if (SORT_BY_MARKS.equals(sort) && parts.length == 3 && SORT_BY_MARKS.equals(parts[0])) {
+                return new int[] { Integer.parseInt(parts[1]), Integer.parseInt(parts[2]) };
+            }
+        } catch (IllegalArgumentException e) {
+            // fall through: malformed cursor
+        }
+        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor for sort '" + sort + "'");
+    }
+
+    /**
+     * Stream every student to the output, ordered by id.
+     *
+     * Students are read from the store in keyset batches and each batch is
+     * written and flushed before the next one is read, so memory use does not
+     * depend on the number of students and the client receives data at once.
+     *
+     * @param format "ndjson" (one JSON object per line) or "csv"
+     * @param out response stream; not closed by this method
+     * @return number of students written
+     */
+    public long export(String format, OutputStream out) throws IOException {
+        boolean csv = EXPORT_CSV.equals(format);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        JsonGenerator json = objectMapper.getFactory().createGenerator(writer);
+        json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        json.disable(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+        json.setRootValueSeparator(null);
+
+        if (csv) {
+            writer.write("id,name,marks\n");
+        }
+        long written = 0;
+        Integer afterId = null;
+        while (true) {
+            List<Student> batch = store.findPageOrderById(afterId, Integer.MIN_VALUE, Integer.MAX_VALUE, exportBatchSize);
+            for (Student student : batch) {
+                if (csv) {
+                    writer.write(student.getId() + "," + csvField(student.getName()) + "," + student.getMarks() + "\n");
+                } else {
+                    json.writeObject(student);
+                    json.flush(); // hands the row to the buffered writer (not to the socket)
+                    writer.write('\n');
+                }
+            }
+            written += batch.size();
+            writer.flush(); // one network flush per batch
+            if (batch.size() < exportBatchSize) {
+                return written;
+            }
+            afterId = batch.get(batch.size() - 1).getId();
+        }
+    }
+
+    private static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    /**
+     * Import students from an NDJSON or CSV body.
+     *
+     * The body is read line by line, so it is never held in memory as a whole.
+     * Valid rows are collected into batches of app.students.import.batch-size and
+     * written with StudentStore.saveAll; invalid rows are listed in the report with
+     * their line number. Students with an existing id are replaced.
+     *
+     * @param format "ndjson" or "csv" (a header line "id,name,marks" is skipped)
+     * @param in request body
+     */
+    public ImportReport importStudents(String format, InputStream in) throws IOException {
+        boolean csv = EXPORT_CSV.equals(format);
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        ImportReport report = new ImportReport();
+        List<Student> batch = new ArrayList<>(importBatchSize);
+        List<Long> batchLines = new ArrayList<>(importBatchSize);
+
+        String line;
+        long lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank() || (csv && lineNumber == 1 && line.trim().equalsIgnoreCase("id,name,marks"))) {
+                continue;
+            }
+            Student student;
+            try {
+                student = csv ? parseCsvRow(line) : parseJsonRow(line);
+                validate(student);
+            } catch (IllegalArgumentException | JsonProcessingException e) {
+                report.addError(lineNumber, e.getMessage(), importMaxErrors);
+                continue;
+            }
+            batch.add(student);
+            batchLines.add(lineNumber);
+            if (batch.size() >= importBatchSize) {
+                writeBatch(batch, batchLines, report);
+            }
+        }
+        writeBatch(batch, batchLines, report);
+        return report;
+    }
+
+    /**
+     * Write one batch; if the batch as a whole fails, retry row by row so only
+     * the offending rows are reported.
+     */
+    private void writeBatch(List<Student> batch, List<Long> batchLines, ImportReport report) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            writeLocked(batch, () -> {
+                List<Student> previous = store.saveAll(batch);
+                for (int i = 0; i < batch.size(); i++) {
+                    onSaved(previous.get(i), batch.get(i));
+                }
+                return null;
+            });
+            report.addAccepted(batch.size());
+        } catch (RuntimeException batchFailure) {
+            for (int i = 0; i < batch.size(); i++) {
+                try {
+                    addStudent(batch.get(i));
+                    report.addAccepted(1);
+                } catch (RuntimeException e) {
+                    report.addError(batchLines.get(i), "Could not be stored: " + e.getMessage(), importMaxErrors);
+                }
+            }
+        }
+        batch.clear();
+        batchLines.clear();
+    }
+
+    private Student parseJsonRow(String line) throws JsonProcessingException {
+        JsonNode node = objectMapper.readTree(line);
+        if (node == null || !node.isObject()) {
+            throw new IllegalArgumentException("Expected a JSON object");
+        }
+        return new Student(intField(node, "id"), node.path("name").asText(null), intField(node, "marks"));
+    }
+
+    private static int intField(JsonNode node, String name) {
+        JsonNode value = node.get(name);
+        if (value == null || !value.canConvertToInt() || !value.isIntegralNumber()) {
+            throw new IllegalArgumentException("'" + name + "' must be an integer");
+        }
+        return value.intValue();
+    }
+
+    /**
+     * Parse "id,name,marks"; the name may be quoted as written by export().
+     */
+    private static Student parseCsvRow(String line) {
+        List<String> fields = new ArrayList<>(3);
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        if (fields.size() != 3) {
+            throw new IllegalArgumentException("Expected 3 columns (id,name,marks), found " + fields.size());
+        }
+        try {
+            return new Student(Integer.parseInt(fields.get(0).trim()), fields.get(1), Integer.parseInt(fields.get(2).trim()));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("id and marks must be integers");
+        }
+    }
+
+    private static void validate(Student student) {
+        if (student.getId() <= 0) {
+            throw new IllegalArgumentException("id must be positive");
+        }
+        if (student.getName() == null || student.getName().isBlank()) {
+            throw new IllegalArgumentException("name is required");
+        }
+        if (student.getName().length() > MAX_NAME_LENGTH) {
+            throw new IllegalArgumentException("name is longer than " + MAX_NAME_LENGTH + " characters");
+        }
+        if (student.getMarks() < MIN_MARKS || student.getMarks() > MAX_MARKS) {
+            throw new IllegalArgumentException("marks must be between " + MIN_MARKS + " and " + MAX_MARKS);
+        }
+    }
+}
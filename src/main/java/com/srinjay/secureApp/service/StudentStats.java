@@ -0,0 +1,203 @@
+package com.srinjay.secureApp.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.stereotype.Component;
+
+import com.srinjay.secureApp.model.MarksStats;
+import com.srinjay.secureApp.model.Student;
+
+/**
+ * Marks aggregates maintained on every write, so /students/stats costs the
+ * same no matter how many students exist.
+ *
+ *  - One striped counter (LongAdder) per mark 0..100, i.e. an exact histogram
+ *  - Marks outside 0..100 (POST /students does not check the range, and rows may
+ *    be written to the database directly) are counted per value in a sorted map.
+ *    An entry is removed when its last student goes, so the map only holds the
+ *    out-of-range values currently stored, and min, max and percentiles stay exact
+ *  - A striped sum for the average
+ *  - Writers update the counters concurrently (shared side of a read/write
+ *    lock); a snapshot takes the exclusive side for a moment, so count, sum
+ *    and histogram always describe the same set of writes
+ */
+@Component
+public class StudentStats {
+
+    private static final int MAX_IN_RANGE = 100;
+
+    private final LongAdder[] counts = new LongAdder[MAX_IN_RANGE + 1];
+    // marks outside 0..MAX_IN_RANGE -> number of students with them (never 0)
+    private final ConcurrentSkipListMap<Integer, Long> outliers = new ConcurrentSkipListMap<>();
+    private final LongAdder sum = new LongAdder();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public StudentStats() {
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Account for a write: the previous version of the student (null for a new
+     * student) is taken out and the new one added.
+     */
+    public void record(Student previous, Student current) {
+        lock.readLock().lock(); // shared: many writers at once
+        try {
+            if (previous != null) {
+                add(previous.getMarks(), -1);
+            }
+            if (current != null) {
+                add(current.getMarks(), 1);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Consistent snapshot of count, average, min/max, percentiles and histogram.
+     * Cost depends only on the number of buckets (101 plus distinct out-of-range marks).
+     */
+    public MarksStats snapshot() {
+        long[] inRange = new long[counts.length];
+        NavigableMap<Integer, Long> outOfRange;
+        long sumOfMarks;
+        lock.writeLock().lock(); // exclusive: no write is half applied
+        try {
+            for (int i = 0; i < counts.length; i++) {
+                inRange[i] = counts[i].sum();
+            }
+            outOfRange = new TreeMap<>(outliers);
+            sumOfMarks = sum.sum();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        long below = total(outOfRange.headMap(0));
+        long above = total(outOfRange.tailMap(MAX_IN_RANGE, false));
+        long total = below + above;
+        for (long count : inRange) {
+            total += count;
+        }
+        if (total == 0) {
+            return new MarksStats(0, 0, null, null, null, null, null, histogram(inRange, below, above));
+        }
+
+        // Walk the values in marks order: out-of-range below 0, 0..100, out-of-range above 100
+        Ranks ranks = new Ranks(total);
+        for (Map.Entry<Integer, Long> entry : outOfRange.headMap(0).entrySet()) {
+            ranks.add(entry.getKey(), entry.getValue());
+        }
+        for (int marks = 0; marks < inRange.length; marks++) {
+            ranks.add(marks, inRange[marks]);
+        }
+        for (Map.Entry<Integer, Long> entry : outOfRange.tailMap(MAX_IN_RANGE, false).entrySet()) {
+            ranks.add(entry.getKey(), entry.getValue());
+        }
+        return new MarksStats(total, (double) sumOfMarks / total, ranks.min, ranks.max, ranks.p50, ranks.p90,
+                ranks.p99, histogram(inRange, below, above));
+    }
+
+    /**
+     * Forget everything (used before rebuilding from the store).
+     */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            for (LongAdder count : counts) {
+                count.reset();
+            }
+            outliers.clear();
+            sum.reset();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void add(int marks, int delta) {
+        if (marks < 0 || marks > MAX_IN_RANGE) {
+            // Atomic per value; the entry goes away when its count reaches 0
+            outliers.merge(marks, (long) delta, (count, change) -> count + change == 0 ? null : count + change);
+        } else {
+            counts[marks].add(delta);
+        }
+        sum.add((long) marks * delta);
+    }
+
+    private static long total(Map<Integer, Long> counts) {
+        long total = 0;
+        for (long count : counts.values()) {
+            total += count;
+        }
+        return total;
+    }
+
+    /**
+     * Min, max and nearest-rank percentiles (the smallest value with at least p of all
+     * values at or below it), fed with (marks, count) pairs in ascending marks order.
+     */
+    private static final class Ranks {
+
+        private final long total;
+        private long seen;
+        private Integer min;
+        private Integer max;
+        private Integer p50;
+        private Integer p90;
+        private Integer p99;
+
+        Ranks(long total) {
+            this.total = total;
+        }
+
+        void add(int marks, long count) {
+            if (count == 0) {
+                return;
+            }
+            if (min == null) {
+                min = marks;
+            }
+            max = marks;
+            seen += count;
+            if (p50 == null && seen >= rank(0.50)) {
+                p50 = marks;
+            }
+            if (p90 == null && seen >= rank(0.90)) {
+                p90 = marks;
+            }
+            if (p99 == null && seen >= rank(0.99)) {
+                p99 = marks;
+            }
+        }
+
+        private long rank(double p) {
+            return Math.max(1, (long) Math.ceil(p * total));
+        }
+    }
+
+    /**
+     * Ten-mark buckets for dashboards: "0-9", "10-19", ..., "90-99", "100", plus "<0" and ">100".
+     */
+    private static Map<String, Long> histogram(long[] inRange, long below, long above) {
+        Map<String, Long> histogram = new LinkedHashMap<>();
+        histogram.put("<0", below);
+        for (int from = 0; from < MAX_IN_RANGE; from += 10) {
+            long count = 0;
+            for (int i = from; i < from + 10; i++) {
+                count += inRange[i];
+            }
+            histogram.put(from + "-" + (from + 9), count);
+        }
+        histogram.put(String.valueOf(MAX_IN_RANGE), inRange[MAX_IN_RANGE]);
+        histogram.put(">" + MAX_IN_RANGE, above);
+        return histogram;
+    }
+}
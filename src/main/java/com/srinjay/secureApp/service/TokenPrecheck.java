@@ -0,0 +1,142 @@
+package com.srinjay.secureApp.service;
+
+import java.util.Base64;
+
+/**
+ * TokenPrecheck rejects tokens that cannot possibly verify before any signature work.
+ *
+ *  - Structure: at most maxLength characters, three non-empty base64url segments
+ *  - Expiry: the payload's top-level "exp" claim is read without a JSON parser and
+ *    compared the way jjwt does (no clock skew)
+ *
+ * Nothing here throws, so malformed and stale tokens replayed by bots are turned away
+ * without jjwt building exceptions and stack traces. The check only ever rejects: a
+ * token that passes still goes through full verification in JWTService.
+ */
+public final class TokenPrecheck {
+
+    // Results of expiration() besides an "exp" value in seconds
+    private static final long NO_EXPIRATION = -1;
+    private static final long MALFORMED_PAYLOAD = -2;
+
+    private TokenPrecheck() {
+    }
+
+    /**
+     * @return null if the token may be valid, otherwise the rejection reason
+     *         (AuthMetrics.MALFORMED or AuthMetrics.EXPIRED)
+     */
+    public static String check(String token, int maxLength, long nowMillis) {
+        int length = token.length();
+        if (length == 0 || length > maxLength) {
+            return AuthMetrics.MALFORMED;
+        }
+        int firstDot = -1;
+        int secondDot = -1;
+        for (int i = 0; i < length; i++) {
+            char c = token.charAt(i);
+            if (c == '.') {
+                if (firstDot < 0) {
+                    firstDot = i;
+                } else if (secondDot < 0) {
+                    secondDot = i;
+                } else {
+                    return AuthMetrics.MALFORMED; // more than three segments (e.g. JWE)
+                }
+            } else if (!isBase64Url(c)) {
+                return AuthMetrics.MALFORMED;
+            }
+        }
+        if (firstDot <= 0 || secondDot <= firstDot + 1 || secondDot == length - 1) {
+            return AuthMetrics.MALFORMED; // missing or empty segment (unsigned tokens included)
+        }
+        if ((secondDot - firstDot - 1) % 4 == 1) {
+            return AuthMetrics.MALFORMED; // not a whole number of bytes
+        }
+
+        byte[] payload = Base64.getUrlDecoder().decode(token.substring(firstDot + 1, secondDot));
+        long exp = expiration(payload);
+        if (exp == MALFORMED_PAYLOAD) {
+            return AuthMetrics.MALFORMED;
+        }
+        if (exp != NO_EXPIRATION && nowMillis > exp * 1000) {
+            return AuthMetrics.EXPIRED;
+        }
+        return null;
+    }
+
+    /**
+     * Seconds of the top-level "exp" claim; NO_EXPIRATION if absent or not a plain
+     * number (left to jjwt), MALFORMED_PAYLOAD if the payload is not a JSON object.
+     */
+    private static long expiration(byte[] json) {
+        int i = skipWhitespace(json, 0);
+        if (i == json.length || json[i] != '{') {
+            return MALFORMED_PAYLOAD;
+        }
+        int depth = 0;
+        while (i < json.length) {
+            byte b = json[i];
+            if (b == '"') {
+                int start = i + 1;
+                i = endOfString(json, start);
+                if (i < 0) {
+                    return MALFORMED_PAYLOAD;
+                }
+                // A top-level key named exp: the string is followed by ':'
+                if (depth == 1 && i - start == 3 && json[start] == 'e' && json[start + 1] == 'x' && json[start + 2] == 'p') {
+                    int colon = skipWhitespace(json, i + 1);
+                    if (colon < json.length && json[colon] == ':') {
+                        return number(json, skipWhitespace(json, colon + 1));
+                    }
+                }
+            } else if (b == '{' || b == '[') {
+                depth++;
+            } else if (b == '}' || b == ']') {
+                depth--;
+            }
+            i++;
+        }
+        return NO_EXPIRATION;
+    }
+
+    // Index of the closing quote of a string starting at start, or -1 if unterminated
+    private static int endOfString(byte[] json, int start) {
+        for (int i = start; i < json.length; i++) {
+            if (json[i] == '\\') {
+                i++;
+            } else if (json[i] == '"') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static long number(byte[] json, int start) {
+        long value = 0;
+        int i = start;
+        while (i < json.length && json[i] >= '0' && json[i] <= '9') {
+            if (i - start == 15) {
+                return NO_EXPIRATION; // far beyond any real expiry; let jjwt judge it
+            }
+            value = value * 10 + (json[i] - '0');
+            i++;
+        }
+        // Fractions, exponents, strings and negative numbers are left to jjwt
+        if (i == start || (i < json.length && (json[i] == '.' || json[i] == 'e' || json[i] == 'E'))) {
+            return NO_EXPIRATION;
+        }
+        return value;
+    }
+
+    private static int skipWhitespace(byte[] json, int i) {
+        while (i < json.length && (json[i] == ' ' || json[i] == '\t' || json[i] == '\n' || json[i] == '\r')) {
+            i++;
+        }
+        return i;
+    }
+
+    private static boolean isBase64Url(char c) {
+        return (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9') || c == '-' || c == '_';
+    }
+}
@@ -0,0 +1,236 @@
+package com.srinjay.secureApp.service;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.srinjay.secureApp.model.VerifiedToken;
+
+/**
+ * TokenRevocationService decides whether a verified token has been revoked.
+ *
+ *  - Single tokens are revoked by their ID ("jti") and kept in a hash set in
+ *    memory, so the check on every request is one hash lookup (and no lookup
+ *    at all while nothing is revoked)
+ *  - All tokens of a user are revoked through the UserTokenDenylist cut-off
+ *  - Entries disappear once the revoked token would have expired anyway (at most
+ *    one access token lifetime). Nothing else removes an entry: once
+ *    app.jwt.revocations.max-size tokens are listed, further revocations are
+ *    refused (503) instead of forgetting one that is still needed
+ *  - Each revocation is appended to app.jwt.revocations.file so it survives
+ *    restarts; purgeExpired() compacts the file when entries expire
+ */
+@Service
+public class TokenRevocationService {
+
+    private static final String TOKEN_ENTRY = "jti";
+    private static final String USER_ENTRY = "user";
+
+    private final UserTokenDenylist userDenylist;
+    private final Path file; // null = revocations are kept in memory only
+    private final int maxSize;
+    private BufferedWriter appender; // open on file between compactions, guarded by this
+
+    // jti -> epoch millis after which the token is expired and the entry can go
+    private final Map<String, Long> revokedTokens = new ConcurrentHashMap<>();
+
+    // username -> cut-off (epoch millis) of user-wide revocations, kept only to persist them;
+    // bounded like the UserTokenDenylist, which refuses new users when full
+    private final Map<String, Long> revokedUsers = new ConcurrentHashMap<>();
+
+    public TokenRevocationService(UserTokenDenylist userDenylist,
+                                  @Value("${app.jwt.revocations.file:}") String file,
+                                  @Value("${app.jwt.revocations.max-size:100000}") int maxSize) {
+        this.userDenylist = userDenylist;
+        this.file = file == null || file.isBlank() ? null : Path.of(file);
+        this.maxSize = maxSize;
+        load();
+        compact(); // start the log from the live entries only
+    }
+
+    /**
+     * Check whether a token was revoked, either by itself or together with all tokens of its user.
+     */
+    public boolean isRevoked(VerifiedToken token) {
+        if (!revokedTokens.isEmpty() && token.getId() != null && revokedTokens.containsKey(token.getId())) {
+            return true;
+        }
+        return userDenylist.isRevoked(token);
+    }
+
+    /**
+     * Revoke a single token, e.g. on logout.
+     *
+     * @throws ResponseStatusException with 503 if the list is full
+     */
+    public void revoke(VerifiedToken token) {
+        long latest = System.currentTimeMillis() + JWTService.ACCESS_TOKEN_TTL_MILLIS;
+        long expiresAt = token.getExpiration() != null ? Math.min(token.getExpiration().getTime(), latest) : latest;
+        revokeTokenId(token.getId(), expiresAt);
+    }
+
+    /**
+     * Revoke a token by its ID when only the ID is known (admin API).
+     * The entry is kept for the longest possible token lifetime.
+     *
+     * @throws ResponseStatusException with 503 if the list is full
+     */
+    public void revokeTokenId(String tokenId) {
+        revokeTokenId(tokenId, System.currentTimeMillis() + JWTService.ACCESS_TOKEN_TTL_MILLIS);
+    }
+
+    /**
+     * Revoke every token issued to a user so far.
+     */
+    public void revokeUser(String username) {
+        userDenylist.revokeAll(username);
+        long cutOff = System.currentTimeMillis();
+        revokedUsers.put(username, cutOff);
+        append(USER_ENTRY, username, cutOff);
+    }
+
+    /**
+     * Number of individually revoked tokens currently remembered.
+     */
+    public int revokedTokenCount() {
+        return revokedTokens.size();
+    }
+
+    /**
+     * Drop entries whose tokens have expired by now, and rewrite the file without them.
+     */
+    @Scheduled(fixedDelayString = "${app.jwt.revocations.purge-interval-ms:60000}")
+    public void purgeExpired() {
+        if (removeExpired()) {
+            compact();
+        }
+    }
+
+    private boolean removeExpired() {
+        long now = System.currentTimeMillis();
+        boolean tokensRemoved = revokedTokens.values().removeIf(expiresAt -> expiresAt < now);
+        boolean usersRemoved = revokedUsers.values()
+                .removeIf(cutOff -> cutOff + JWTService.ACCESS_TOKEN_TTL_MILLIS < now);
+        return tokensRemoved || usersRemoved;
+    }
+
+    private void revokeTokenId(String tokenId, long expiresAt) {
+        if (tokenId == null) {
+            return;
+        }
+        if (revokedTokens.size() >= maxSize && !revokedTokens.containsKey(tokenId)) {
+            if (removeExpired()) { // the map may still hold expired entries
+                compact();
+            }
+            if (revokedTokens.size() >= maxSize) {
+                throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Token revocation list is full");
+            }
+        }
+        revokedTokens.merge(tokenId, expiresAt, Math::max);
+        append(TOKEN_ENTRY, tokenId, expiresAt);
+    }
+
+    /**
+     * Restore unexpired revocations from the file. Format, one entry per line:
+     *   jti  <token id> <expires at>
+     *   user <username> <cut-off>
+     * A key may appear more than once (the latest time wins). A line torn by a
+     * crash during an append is skipped.
+     */
+    private void load() {
+        if (file == null || !Files.exists(file)) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] parts = line.split("\t");
+                if (parts.length != 3) {
+                    continue;
+                }
+                long time;
+                try {
+                    time = Long.parseLong(parts[2]);
+                } catch (NumberFormatException e) {
+                    continue;
+                }
+                if (TOKEN_ENTRY.equals(parts[0]) && time >= now) {
+                    revokedTokens.merge(parts[1], time, Math::max);
+                } else if (USER_ENTRY.equals(parts[0]) && time + JWTService.ACCESS_TOKEN_TTL_MILLIS >= now) {
+                    revokedUsers.merge(parts[1], time, Math::max);
+                    userDenylist.revokeAllBefore(parts[1], time);
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot read token revocation file " + file, e);
+        }
+    }
+
+    /**
+     * Append one revocation to the file: a single short write per logout, however
+     * many entries are listed.
+     */
+    private synchronized void append(String type, String key, long time) {
+        if (file == null) {
+            return;
+        }
+        try {
+            if (appender == null) {
+                appender = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            }
+            appender.write(type + "\t" + key + "\t" + time);
+            appender.newLine();
+            appender.flush();
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot write token revocation file " + file, e);
+        }
+    }
+
+    /**
+     * Rewrite the file from the live entries and atomically swap it in. Runs at
+     * startup and when purgeExpired() removed something; appends wait for it, and
+     * an entry added while the snapshot is taken is at worst written twice.
+     */
+    private synchronized void compact() {
+        if (file == null) {
+            return;
+        }
+        try {
+            if (appender != null) {
+                appender.close();
+                appender = null; // reopened on the new file by the next append
+            }
+            Path dir = file.toAbsolutePath().getParent();
+            Files.createDirectories(dir);
+            Path tmp = Files.createTempFile(dir, ".revocations", ".tmp");
+            try (BufferedWriter writer = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+                for (Map.Entry<String, Long> entry : revokedTokens.entrySet()) {
+                    writer.write(TOKEN_ENTRY + "\t" + entry.getKey() + "\t" + entry.getValue());
+                    writer.newLine();
+                }
+                for (Map.Entry<String, Long> entry : revokedUsers.entrySet()) {
+                    writer.write(USER_ENTRY + "\t" + entry.getKey() + "\t" + entry.getValue());
+                    writer.newLine();
+                }
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot write token revocation file " + file, e);
+        }
+    }
+}
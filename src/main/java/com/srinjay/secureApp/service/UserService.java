@@ -1,20 +1,39 @@
 package com.srinjay.secureApp.service;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.LockedException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
 
+import com.srinjay.secureApp.model.AuthTokens;
+import com.srinjay.secureApp.model.ImportReport;
 import com.srinjay.secureApp.model.Users;
+import com.srinjay.secureApp.model.VerifiedToken;
 import com.srinjay.secureApp.repo.UserRepo;
 
 /**
  * UserService handles:
- *  - Registering new users (with password encryption)
+ *  - Registering new users (with password encryption), one at a time or in bulk
  *  - Authenticating users with Spring Security
  *  - Generating JWT tokens for successful logins
+ *  - Renewing access tokens from refresh tokens (no password check needed)
+ *  - Logging out and revoking tokens
  */
 @Service
 public class UserService {
@@ -28,47 +47,262 @@ public class UserService {
     @Autowired
     private JWTService jwtService; // Used to generate JWT token after successful login
 
-    // BCrypt password encoder (strength = 12)
-    private BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(12);
+    @Autowired
+    private MyUserDetailsService userDetailsService; // Holds the user cache that must be invalidated on save
+
+    @Autowired
+    private RefreshTokenService refreshTokenService; // Issues and rotates refresh tokens
+
+    @Autowired
+    private TokenRevocationService tokenRevocations; // Revokes access tokens on logout
+
+    @Autowired
+    private LoginThrottle loginThrottle; // Counts failed logins and locks abused usernames
+
+    @Autowired
+    private AuthMetrics metrics; // Timers for the password check and token generation
+
+    @Autowired
+    private PasswordHashingExecutor hashingExecutor; // Parallel hashing for bulk registration
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate; // plain JDBC batches for bulk inserts
+
+    @Autowired
+    private TransactionTemplate transactionTemplate; // a failed batch is rolled back as a whole
+
+    @Value("${app.users.bulk.batch-size:500}")
+    private int bulkBatchSize; // Users per transaction (one JDBC batch)
+
+    @Value("${app.users.bulk.max-records:10000}")
+    private int bulkMaxRecords; // Largest accepted bulk request
+
+    @Autowired
+    private PasswordEncoder encoder; // Shared BCrypt encoder, strength set by app.password.bcrypt.strength
 
     /**
      * Register a new user.
+     * - Rejects a username that already exists (409) before any hashing or saving;
+     *   /register is public, so it must never touch an existing account or its tokens.
+     *   A concurrent registration of the same name is caught by the unique index.
+     * - The id is assigned by the database (any id sent by the client is ignored)
      * - Encrypts password before saving (never store plain text!)
      * - Saves user details in the database
+     * - Evicts the user from the UserDetails cache so the new user is seen immediately
      *
      * @param user User object from request
      * @return saved User object (with encrypted password)
      */
     public Users register(Users user) {
+        if (repo.findByUsername(user.getUsername()) != null) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Username already exists");
+        }
+        user.setId(0); // new entity: plain insert with a generated id
         user.setPassword(encoder.encode(user.getPassword())); // encrypt password
-        return repo.save(user); // save in DB
+        Users saved;
+        try {
+            saved = repo.save(user); // save in DB
+        } catch (DataIntegrityViolationException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Username already exists");
+        }
+        userDetailsService.onUserSaved(saved.getUsername()); // drop the cached "unknown user" answer
+        return saved;
+    }
+
+    /**
+     * Register many users at once (customer onboarding).
+     * - Rejects records without username/password, usernames repeated in the request
+     *   and usernames that already exist, each reported by its 1-based position
+     * - Hashes all passwords in parallel on the hashing pool (one task per core)
+     * - Saves in transactions of app.users.bulk.batch-size users, each one JDBC batch
+     *   insert (ids are assigned by the database). If a batch fails it is rolled back
+     *   and retried user by user so only the offending records are reported; a username
+     *   registered concurrently hits the unique index and is reported as already existing.
+     *
+     * @param users users to create (username + password)
+     * @return accepted/rejected counts and the rejected records
+     */
+    public ImportReport registerAll(List<Users> users) {
+        if (users.size() > bulkMaxRecords) {
+            throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE,
+                    "At most " + bulkMaxRecords + " users per request");
+        }
+        ImportReport report = new ImportReport();
+        Set<String> taken = new HashSet<>();
+        for (int from = 0; from < users.size(); from += bulkBatchSize) {
+            Set<String> usernames = new HashSet<>();
+            for (Users user : users.subList(from, Math.min(from + bulkBatchSize, users.size()))) {
+                if (user != null && user.getUsername() != null) {
+                    usernames.add(user.getUsername());
+                }
+            }
+            if (!usernames.isEmpty()) {
+                taken.addAll(repo.findExistingUsernames(usernames));
+            }
+        }
+
+        // 1. Validate
+        List<Users> valid = new ArrayList<>();
+        List<Long> positions = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        for (int i = 0; i < users.size(); i++) {
+            Users user = users.get(i);
+            String error = null;
+            if (user == null || user.getUsername() == null || user.getUsername().isBlank()) {
+                error = "username is required";
+            } else if (user.getPassword() == null || user.getPassword().isEmpty()) {
+                error = "password is required";
+            } else if (!seen.add(user.getUsername())) {
+                error = "duplicate username in request";
+            } else if (taken.contains(user.getUsername())) {
+                error = "username already exists";
+            }
+            if (error != null) {
+                report.addError(i + 1, error, Integer.MAX_VALUE);
+            } else {
+                valid.add(user);
+                positions.add(i + 1L);
+            }
+        }
+
+        // 2. Hash in parallel (the dominant cost: one BCrypt per user)
+        List<String> hashes = hashingExecutor.mapAll(valid, user -> encoder.encode(user.getPassword()));
+        for (int i = 0; i < valid.size(); i++) {
+            valid.get(i).setId(0);
+            valid.get(i).setPassword(hashes.get(i));
+        }
+
+        // 3. Save in batches
+        for (int from = 0; from < valid.size(); from += bulkBatchSize) {
+            int to = Math.min(from + bulkBatchSize, valid.size());
+            saveBatch(valid.subList(from, to), positions.subList(from, to), report);
+        }
+        return report;
+    }
+
+    private void saveBatch(List<Users> batch, List<Long> positions, ImportReport report) {
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    jdbcTemplate.batchUpdate("insert into users (username, password) values (?, ?)", batch, batch.size(),
+                            (ps, user) -> {
+                                ps.setString(1, user.getUsername());
+                                ps.setString(2, user.getPassword());
+                            }));
+            report.addAccepted(batch.size());
+            batch.forEach(user -> userDetailsService.onUserSaved(user.getUsername()));
+        } catch (RuntimeException batchFailure) {
+            for (int i = 0; i < batch.size(); i++) {
+                Users user = batch.get(i);
+                try {
+                    repo.save(user);
+                    report.addAccepted(1);
+                    userDetailsService.onUserSaved(user.getUsername());
+                } catch (DataIntegrityViolationException e) {
+                    report.addError(positions.get(i), "username already exists", Integer.MAX_VALUE);
+                } catch (RuntimeException e) {
+                    report.addError(positions.get(i), "Could not be stored: " + e.getMessage(), Integer.MAX_VALUE);
+                }
+            }
+        }
     }
 
     /**
      * Verify login credentials.
      * - Uses AuthenticationManager to authenticate username + password
-     * - If successful, generate and return a JWT token
-     * - If failed, return "Failure"
+     * - If successful, generate a JWT token carrying the user's authorities
+     *   and a refresh token that can later renew it without the password
+     * - If failed, AuthenticationManager throws and the client gets 401;
+     *   the failure is counted so repeated failures lock the username
      *
      * @param user User object containing login credentials
-     * @return JWT token (if success) or "Failure" (if invalid login)
+     * @return access token and refresh token
      */
-    public String verify(Users user) {
+    public AuthTokens verify(Users user) {
         // Attempt authentication with Spring Security
-        Authentication authentication =
-                authManager.authenticate(
-                        new UsernamePasswordAuthenticationToken(
-                                user.getUsername(),
-                                user.getPassword()
-                        )
-                );
-
-        // If authentication is successful, return JWT token
-        if (authentication.isAuthenticated()) {
-            return jwtService.generateToken(user.getUsername());
+        Authentication authentication;
+        long start = System.nanoTime();
+        String outcome = AuthMetrics.ERROR;
+        try {
+            authentication =
+                    authManager.authenticate(
+                            new UsernamePasswordAuthenticationToken(
+                                    user.getUsername(),
+                                    user.getPassword()
+                            )
+                    );
+            outcome = AuthMetrics.SUCCESS;
+        } catch (LockedException e) {
+            outcome = AuthMetrics.LOCKED;
+            loginThrottle.recordLocked(); // refused before any password hashing
+            throw e;
+        } catch (BadCredentialsException e) {
+            outcome = AuthMetrics.BAD_CREDENTIALS;
+            loginThrottle.recordFailure(user.getUsername());
+            throw e;
+        } finally {
+            metrics.recordPasswordCheck(outcome, System.nanoTime() - start);
+        }
+        loginThrottle.recordSuccess(user.getUsername());
+
+        // If authentication is successful, return JWT token + refresh token
+        if (!authentication.isAuthenticated()) {
+            throw new BadCredentialsException("Failure");
+        }
+        UserDetails userDetails = (UserDetails) authentication.getPrincipal();
+        return new AuthTokens(
+                generateToken(userDetails),
+                refreshTokenService.issue(userDetails.getUsername()),
+                JWTService.ACCESS_TOKEN_TTL_MILLIS / 1000
+        );
+    }
+
+    /**
+     * Renew an access token.
+     * - Consumes (rotates) the refresh token: one indexed lookup, no BCrypt
+     * - Loads the user through the cached MyUserDetailsService, so deleted users cannot refresh
+     * - Returns a new access token and a new refresh token
+     *
+     * @param refreshToken refresh token previously returned by login or refresh
+     * @return new access token and refresh token
+     */
+    public AuthTokens refresh(String refreshToken) {
+        String username = refreshTokenService.consume(refreshToken);
+        UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+        return new AuthTokens(
+                generateToken(userDetails),
+                refreshTokenService.issue(username),
+                JWTService.ACCESS_TOKEN_TTL_MILLIS / 1000
+        );
+    }
+
+    /**
+     * Log out the current session.
+     * - Revokes the access token used for this request (by its token ID)
+     * - Revokes the refresh token of the session, if the client sent it
+     *
+     * @param accessToken verified access token of the current request
+     * @param refreshToken refresh token of the session (may be null)
+     */
+    public void logout(VerifiedToken accessToken, String refreshToken) {
+        if (accessToken != null) {
+            tokenRevocations.revoke(accessToken);
         }
+        refreshTokenService.revoke(refreshToken);
+    }
+
+    /**
+     * Revoke every access and refresh token of a user (admin action).
+     * This is the path to use when an existing account's credentials or roles change.
+     */
+    public void revokeUser(String username) {
+        tokenRevocations.revokeUser(username);
+        refreshTokenService.revokeAll(username);
+    }
 
-        // Otherwise, return failure response
-        return "Failure";
+    private String generateToken(UserDetails userDetails) {
+        long start = System.nanoTime();
+        String token = jwtService.generateToken(userDetails);
+        metrics.recordTokenGenerate(System.nanoTime() - start);
+        return token;
     }
 }
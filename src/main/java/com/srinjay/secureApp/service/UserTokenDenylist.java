@@ -0,0 +1,94 @@
+package com.srinjay.secureApp.service;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.srinjay.secureApp.model.VerifiedToken;
+
+/**
+ * UserTokenDenylist remembers, per user, the moment from which older tokens
+ * must no longer be accepted (e.g. the user was changed or disabled).
+ *
+ * In claims-only (stateless) mode JwtFilter trusts the token without reading
+ * the database, so this short-lived, in-memory list is what stops a changed
+ * account from staying authorized until its tokens expire.
+ *
+ * Entries only need to outlive the longest access token, so they are dropped
+ * after app.jwt.denylist.ttl (never sooner than the access token lifetime). Nothing
+ * else removes an entry: once app.jwt.denylist.max-size users are listed, further
+ * revocations are refused (503) instead of evicting one that is still needed.
+ *
+ * The list lives in the memory of one replica. With app.jwt.stateless-auth=true and
+ * several replicas, a change or disable only takes effect on the replica that handled
+ * it until the old tokens expire; run claims-only mode on a single replica, or keep
+ * it off so every request re-reads the user.
+ */
+@Component
+public class UserTokenDenylist {
+
+    // username -> tokens issued at or before this instant (epoch millis) are rejected
+    // Expires by time only; no size bound, which would let cache pressure undo a revocation
+    private final Cache<String, Long> notBefore;
+    private final long maxSize;
+
+    public UserTokenDenylist(@Value("${app.jwt.denylist.ttl:10m}") Duration ttl,
+                             @Value("${app.jwt.denylist.max-size:100000}") long maxSize) {
+        this.maxSize = maxSize;
+        this.notBefore = Caffeine.newBuilder()
+                .expireAfterWrite(ttl.compareTo(Duration.ofMillis(JWTService.ACCESS_TOKEN_TTL_MILLIS)) < 0
+                        ? Duration.ofMillis(JWTService.ACCESS_TOKEN_TTL_MILLIS) : ttl)
+                .build();
+    }
+
+    /**
+     * Reject every token of this user that was issued before now.
+     */
+    public void revokeAll(String username) {
+        revokeAllBefore(username, System.currentTimeMillis());
+    }
+
+    /**
+     * Reject every token of this user that was issued before the given instant (epoch millis).
+     *
+     * "iat" only has second precision, so the check is conservative: tokens issued later
+     * in the same second as the cut-off are rejected too, and the user has to log in
+     * again once that second has passed.
+     *
+     * @throws ResponseStatusException with 503 if the list is full and the user is not on it yet
+     */
+    public void revokeAllBefore(String username, long cutOffMillis) {
+        if (notBefore.estimatedSize() >= maxSize && notBefore.getIfPresent(username) == null) {
+            notBefore.cleanUp(); // the size may still count expired entries
+            if (notBefore.estimatedSize() >= maxSize) {
+                throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Token denylist is full");
+            }
+        }
+        notBefore.asMap().merge(username, cutOffMillis, Math::max);
+    }
+
+    /**
+     * Number of users currently listed.
+     */
+    public long size() {
+        return notBefore.estimatedSize();
+    }
+
+    /**
+     * Check whether a verified token was issued before its user's cut-off. The "iat" second
+     * is compared against the cut-off in milliseconds, so a token from the cut-off's own
+     * second counts as revoked.
+     */
+    public boolean isRevoked(VerifiedToken token) {
+        Long cutOff = notBefore.getIfPresent(token.getSubject());
+        if (cutOff == null) {
+            return false;
+        }
+        return token.getIssuedAt() == null || token.getIssuedAt().getTime() <= cutOff;
+    }
+}
@@ -0,0 +1,152 @@
+package com.srinjay.secureApp.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.srinjay.secureApp.repo.UserRepo;
+
+/**
+ * UsernameFilter is a bloom filter over every username in the users table.
+ *
+ * It answers "this username certainly does not exist" without a database
+ * query, which is what most credential-stuffing lookups ask. A "maybe" answer
+ * still goes to the database, so false positives only cost the usual query.
+ *
+ *  - Opt-in (app.user-filter.enabled=true); built from the database once the
+ *    application is ready, and fed by UserService.register afterwards
+ *  - Until the build has finished every username is reported as "maybe"
+ *  - Only use it when this instance sees every registration (single writer),
+ *    otherwise users registered through another instance would be rejected
+ */
+@Component
+public class UsernameFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(UsernameFilter.class);
+
+    private final boolean enabled;
+    private final int bitCount;
+    private final int hashCount;
+    private final AtomicLongArray bits;
+    private volatile boolean ready;
+
+    private final LongAdder rejected = new LongAdder(); // lookups answered "does not exist"
+
+    @Autowired
+    private UserRepo repo;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    public UsernameFilter(@Value("${app.user-filter.enabled:false}") boolean enabled,
+                          @Value("${app.user-filter.expected-users:1000000}") long expectedUsers,
+                          @Value("${app.user-filter.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.enabled = enabled;
+        // Standard sizing: m = -n ln p / (ln 2)^2, k = m/n ln 2
+        long m = (long) Math.ceil(-expectedUsers * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.bitCount = (int) Math.max(64, Math.min(Integer.MAX_VALUE - 63, m));
+        this.hashCount = (int) Math.max(1, Math.round((double) bitCount / Math.max(1, expectedUsers) * Math.log(2)));
+        this.bits = new AtomicLongArray(enabled ? (bitCount + 63) / 64 : 0);
+    }
+
+    /**
+     * Load every existing username once the application has started.
+     * If the database cannot be read the filter simply stays inactive.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            long count = transactionTemplate.execute(status -> {
+                try (Stream<String> usernames = repo.streamAllUsernames()) {
+                    // Not peek(...).count(): count() may skip peek when the size is known
+                    return usernames.mapToLong(username -> {
+                        add(username);
+                        return 1;
+                    }).sum();
+                }
+            });
+            ready = true;
+            log.info("Username filter built from {} users", count);
+        } catch (DataAccessException e) {
+            log.warn("Username filter disabled, users could not be loaded: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Whether the username may exist. False means it certainly does not.
+     */
+    public boolean mightExist(String username) {
+        if (!ready || username == null) {
+            return true;
+        }
+        long hash = hash(username);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < hashCount; i++) {
+            int bit = Math.floorMod(h1 + i * h2, bitCount);
+            if ((bits.get(bit >>> 6) & (1L << bit)) == 0) {
+                rejected.increment();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Record a username (e.g. right after it was registered).
+     */
+    public void add(String username) {
+        if (!enabled || username == null) {
+            return;
+        }
+        long hash = hash(username);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < hashCount; i++) {
+            int bit = Math.floorMod(h1 + i * h2, bitCount);
+            long mask = 1L << bit;
+            int word = bit >>> 6;
+            long current;
+            do {
+                current = bits.get(word);
+            } while ((current & mask) == 0 && !bits.compareAndSet(word, current, current | mask));
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Number of lookups answered "does not exist" without touching the database.
+     */
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    /**
+     * 64-bit FNV-1a over the UTF-8 bytes; the two halves drive double hashing.
+     */
+    private static long hash(String username) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : username.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= (b & 0xff);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+}
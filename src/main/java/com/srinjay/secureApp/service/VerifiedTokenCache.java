@@ -0,0 +1,156 @@
+package com.srinjay.secureApp.service;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.srinjay.secureApp.model.VerifiedToken;
+
+/**
+ * VerifiedTokenCache remembers tokens that already passed JWTService.verify,
+ * so a client re-sending the same bearer token skips signature verification
+ * and claim parsing entirely.
+ *
+ * - Opt-in: disabled unless app.jwt.cache.enabled=true
+ * - Keyed by the SHA-256 digest of the token (the raw token is never stored)
+ * - Bounded by entry count (app.jwt.cache.max-entries) and by estimated
+ *   memory (app.jwt.cache.max-bytes)
+ * - Every entry expires no later than the token's own "exp" claim
+ */
+@Component
+public class VerifiedTokenCache {
+
+    // Rough fixed cost of one entry: digest key, VerifiedToken, dates, cache node
+    private static final int ENTRY_OVERHEAD_BYTES = 256;
+
+    private final Cache<ByteBuffer, VerifiedToken> cache; // null when the cache is disabled
+
+    public VerifiedTokenCache(@Value("${app.jwt.cache.enabled:false}") boolean enabled,
+                              @Value("${app.jwt.cache.max-entries:100000}") long maxEntries,
+                              @Value("${app.jwt.cache.max-bytes:33554432}") long maxBytes) {
+        if (!enabled) {
+            this.cache = null;
+            return;
+        }
+        // Caffeine allows a single bound, so both limits are folded into the weight:
+        // no entry weighs less than maxBytes / maxEntries, which caps the entry count
+        // at maxEntries while larger entries still count their estimated size.
+        long minWeight = Math.max(1, maxBytes / Math.max(1, maxEntries));
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((ByteBuffer key, VerifiedToken token) ->
+                        (int) Math.min(Integer.MAX_VALUE, Math.max(minWeight, estimateBytes(token))))
+                .expireAfter(new TokenExpiry())
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Whether the cache is switched on for this deployment.
+     */
+    public boolean isEnabled() {
+        return cache != null;
+    }
+
+    /**
+     * Return the cached verification result for a token, or null on a miss.
+     * An entry whose token has expired in the meantime is treated as a miss.
+     */
+    public VerifiedToken getIfPresent(String token) {
+        if (cache == null) {
+            return null;
+        }
+        ByteBuffer key = digest(token);
+        VerifiedToken verified = cache.getIfPresent(key);
+        if (verified != null && verified.isExpiredAt(System.currentTimeMillis())) {
+            cache.invalidate(key);
+            return null;
+        }
+        return verified;
+    }
+
+    /**
+     * Remember a token that has just passed verification.
+     * Tokens without an expiry are never cached.
+     */
+    public void put(String token, VerifiedToken verified) {
+        if (cache == null || verified.getExpiration() == null) {
+            return;
+        }
+        cache.put(digest(token), verified);
+    }
+
+    /**
+     * Drop every cached verification result; JwtKeyRing calls this when a key is removed.
+     */
+    public void invalidateAll() {
+        if (cache != null) {
+            cache.invalidateAll();
+        }
+    }
+
+    /**
+     * Hit/miss/eviction counters; all zero while the cache is disabled.
+     */
+    public CacheStats stats() {
+        return cache == null ? CacheStats.empty() : cache.stats();
+    }
+
+    /**
+     * Number of tokens currently cached.
+     */
+    public long size() {
+        return cache == null ? 0 : cache.estimatedSize();
+    }
+
+    private static ByteBuffer digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return ByteBuffer.wrap(sha256.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static long estimateBytes(VerifiedToken token) {
+        long bytes = ENTRY_OVERHEAD_BYTES;
+        if (token.getSubject() != null) {
+            bytes += 2L * token.getSubject().length();
+        }
+        for (String authority : token.getAuthorities()) {
+            bytes += 48 + 2L * authority.length();
+        }
+        return bytes;
+    }
+
+    /**
+     * Expires each entry exactly when its token expires.
+     */
+    private static final class TokenExpiry implements Expiry<ByteBuffer, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(ByteBuffer key, VerifiedToken token, long currentTime) {
+            long remainingMillis = token.getExpiration().getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMillis));
+        }
+
+        @Override
+        public long expireAfterUpdate(ByteBuffer key, VerifiedToken token, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, token, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(ByteBuffer key, VerifiedToken token, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,8 @@
+-- Refresh tokens (RefreshToken entity). Only the SHA-256 hash of a token is stored.
+CREATE TABLE IF NOT EXISTS refresh_token (
+    token_hash VARCHAR(64) NOT NULL,
+    username   VARCHAR(255),
+    expires_at BIGINT NOT NULL, -- epoch millis
+    PRIMARY KEY (token_hash),
+    INDEX idx_refresh_token_username (username)
+);
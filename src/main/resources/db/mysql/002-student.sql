@@ -0,0 +1,17 @@
+-- Students (Student entity), used with app.students.store=jpa.
+CREATE TABLE IF NOT EXISTS student (
+    id    INT NOT NULL,
+    name  VARCHAR(255),
+    marks INT NOT NULL,
+    PRIMARY KEY (id),
+    INDEX idx_student_marks_id (marks, id)
+);
+
+-- A student table created before the index existed gets it here.
+-- Keyset pages ordered by marks (GET /students?limit=...&sort=marks) read this index.
+SET @ddl = (SELECT IF(COUNT(*) = 0, 'CREATE INDEX idx_student_marks_id ON student (marks, id)', 'DO 0')
+            FROM information_schema.statistics
+            WHERE table_schema = DATABASE() AND table_name = 'student' AND index_name = 'idx_student_marks_id');
+PREPARE create_index FROM @ddl;
+EXECUTE create_index;
+DEALLOCATE PREPARE create_index;
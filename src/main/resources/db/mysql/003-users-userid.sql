@@ -0,0 +1,14 @@
+-- Users (Users entity) get their id from the database: userid must be AUTO_INCREMENT.
+-- /register and POST /admin/users/bulk insert rows without a userid.
+ALTER TABLE users MODIFY userid INT NOT NULL AUTO_INCREMENT;
+
+-- One row per username. Registration checks before inserting, but two concurrent
+-- requests can both pass that check; the index makes the second insert fail instead
+-- of leaving a user that findByUsername can no longer load.
+-- Creating it fails if duplicates already exist; remove them first.
+SET @ddl = (SELECT IF(COUNT(*) = 0, 'CREATE UNIQUE INDEX uk_users_username ON users (username)', 'DO 0')
+            FROM information_schema.statistics
+            WHERE table_schema = DATABASE() AND table_name = 'users' AND index_name = 'uk_users_username');
+PREPARE create_index FROM @ddl;
+EXECUTE create_index;
+DEALLOCATE PREPARE create_index;
@@ -0,0 +1,380 @@
+package com.srinjay.secureApp;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.srinjay.secureApp.model.UserPrincipal;
+import com.srinjay.secureApp.model.Users;
+import com.srinjay.secureApp.repo.UserRepo;
+import com.srinjay.secureApp.service.JWTService;
+import com.srinjay.secureApp.service.MyUserDetailsService;
+
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+
+/**
+ * End-to-end load test (mvn -Pperf test): boots the app on a random port against H2,
+ * seeds perf.users users, then perf.clients concurrent clients send a weighted mix of
+ * register, login and authenticated GET /students requests for perf.duration.
+ *
+ * Prints throughput, error rate and p50/p99/p999 latency per endpoint and fails when a
+ * perf.budget.* latency or perf.max-error-rate is exceeded.
+ *
+ * perf.db-latency adds a fixed delay to every database round trip (slow database
+ * stand-in); together with the peak number of in-flight requests this shows how
+ * platform and virtual request threads scale (see README).
+ */
+@Tag("perf")
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("perf")
+class LoadTests {
+
+	private static final String PASSWORD = "perf-password";
+	private static final String[] ENDPOINTS = { "register", "login", "students" };
+	private static final String[] PERCENTILES = { "p50", "p99", "p999" };
+
+	@LocalServerPort
+	private int port;
+
+	@Autowired
+	private UserRepo userRepo;
+
+	@Autowired
+	private MyUserDetailsService userDetailsService;
+
+	@Autowired
+	private JWTService jwtService;
+
+	@Autowired
+	private PasswordEncoder passwordEncoder;
+
+	@Autowired
+	private Environment environment;
+
+	@Value("${perf.users:1000}")
+	private int users;
+
+	@Value("${perf.clients:16}")
+	private int clients;
+
+	@Value("${perf.warmup:5s}")
+	private Duration warmup;
+
+	@Value("${perf.duration:20s}")
+	private Duration duration;
+
+	@Value("${perf.mix.register:1}")
+	private int registerWeight;
+
+	@Value("${perf.mix.login:4}")
+	private int loginWeight;
+
+	@Value("${perf.mix.students:95}")
+	private int studentsWeight;
+
+	@Value("${perf.max-error-rate:0.01}")
+	private double maxErrorRate;
+
+	@Value("${spring.threads.virtual.enabled:false}")
+	private boolean virtualThreads;
+
+	@Autowired
+	private InFlightRequests inFlight;
+
+	private final HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+	private final AtomicInteger nextUserId = new AtomicInteger();
+	private List<String> accessTokens;
+
+	@Test
+	void mixedTrafficStaysWithinBudgets() throws Exception {
+		seedUsers();
+
+		run(warmup); // let JIT, pools and caches settle; results are dropped
+		inFlight.resetPeak();
+		long started = System.nanoTime();
+		List<Samples[]> perClient = run(duration);
+		double seconds = (System.nanoTime() - started) / 1e9;
+
+		List<String> violations = new ArrayList<>();
+		StringBuilder report = new StringBuilder(String.format("%n%-9s %9s %8s %8s %10s %10s %10s%n",
+				"endpoint", "requests", "req/s", "errors", "p50 ms", "p99 ms", "p999 ms"));
+		for (int e = 0; e < ENDPOINTS.length; e++) {
+			Samples merged = new Samples();
+			for (Samples[] samples : perClient) {
+				merged.addAll(samples[e]);
+			}
+			long[] latencies = merged.sorted();
+			long requests = latencies.length + merged.errors;
+			double errorRate = requests == 0 ? 0 : (double) merged.errors / requests;
+			Map<String, Double> percentiles = new TreeMap<>();
+			percentiles.put("p50", percentileMillis(latencies, 0.50));
+			percentiles.put("p99", percentileMillis(latencies, 0.99));
+			percentiles.put("p999", percentileMillis(latencies, 0.999));
+			report.append(String.format("%-9s %9d %8.1f %7.2f%% %10.2f %10.2f %10.2f%n", ENDPOINTS[e], requests,
+					requests / seconds, errorRate * 100, percentiles.get("p50"), percentiles.get("p99"),
+					percentiles.get("p999")));
+
+			if (errorRate > maxErrorRate) {
+				violations.add(String.format("%s error rate %.2f%% > %.2f%%", ENDPOINTS[e], errorRate * 100,
+						maxErrorRate * 100));
+			}
+			for (String percentile : PERCENTILES) {
+				Double budget = environment.getProperty("perf.budget." + ENDPOINTS[e] + "." + percentile, Double.class);
+				if (budget != null && percentiles.get(percentile) > budget) {
+					violations.add(String.format("%s %s %.2f ms > %.2f ms", ENDPOINTS[e], percentile,
+							percentiles.get(percentile), budget));
+				}
+			}
+		}
+		report.append(String.format("request threads: %s, peak in-flight requests: %d%n",
+				virtualThreads ? "virtual" : "platform", inFlight.getPeak()));
+		System.out.println(report);
+
+		assertTrue(violations.isEmpty(), "Budgets exceeded: " + violations);
+	}
+
+	/**
+	 * Seed users straight through the repository (one shared hash, so seeding is not
+	 * dominated by BCrypt) and mint access tokens for the /students requests.
+	 */
+	private void seedUsers() {
+		String encoded = passwordEncoder.encode(PASSWORD);
+		List<Users> batch = new ArrayList<>();
+		accessTokens = new ArrayList<>();
+		for (int i = 0; i < users; i++) {
+			Users user = new Users();
+			user.setUsername(seededName(i));
+			user.setPassword(encoded);
+			batch.add(user);
+			if (batch.size() == 500 || i == users - 1) {
+				userRepo.saveAll(batch);
+				batch.clear();
+			}
+			userDetailsService.onUserSaved(user.getUsername());
+			accessTokens.add(jwtService.generateToken(new UserPrincipal(user)));
+		}
+	}
+
+	/**
+	 * Run all clients for the given time; returns each client's samples per endpoint.
+	 */
+	private List<Samples[]> run(Duration phase) throws Exception {
+		long deadline = System.nanoTime() + phase.toNanos();
+		ExecutorService pool = Executors.newFixedThreadPool(clients);
+		try {
+			List<Future<Samples[]>> futures = new ArrayList<>();
+			for (int c = 0; c < clients; c++) {
+				futures.add(pool.submit(() -> client(deadline)));
+			}
+			List<Samples[]> results = new ArrayList<>();
+			for (Future<Samples[]> future : futures) {
+				results.add(future.get());
+			}
+			return results;
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	private Samples[] client(long deadline) {
+		Samples[] samples = { new Samples(), new Samples(), new Samples() };
+		int totalWeight = registerWeight + loginWeight + studentsWeight;
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		while (System.nanoTime() < deadline) {
+			int pick = random.nextInt(totalWeight);
+			int endpoint = pick < registerWeight ? 0 : pick < registerWeight + loginWeight ? 1 : 2;
+			HttpRequest request = request(endpoint, random);
+			long start = System.nanoTime();
+			try {
+				HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+				if (response.statusCode() / 100 == 2) {
+					samples[endpoint].add(System.nanoTime() - start);
+				} else {
+					samples[endpoint].errors++;
+				}
+			} catch (Exception e) {
+				samples[endpoint].errors++;
+			}
+		}
+		return samples;
+	}
+
+	private HttpRequest request(int endpoint, ThreadLocalRandom random) {
+		switch (endpoint) {
+		case 0: {
+			int id = nextUserId.incrementAndGet();
+			return post("/register", "{\"username\":\"perf-new-" + id + "\",\"password\":\"" + PASSWORD + "\"}");
+		}
+		case 1:
+			return post("/login", "{\"username\":\"" + seededName(random.nextInt(users)) + "\",\"password\":\"" + PASSWORD + "\"}");
+		default:
+			return HttpRequest.newBuilder(uri("/students"))
+					.header("Authorization", "Bearer " + accessTokens.get(random.nextInt(accessTokens.size())))
+					.GET()
+					.build();
+		}
+	}
+
+	private HttpRequest post(String path, String json) {
+		return HttpRequest.newBuilder(uri(path))
+				.header("Content-Type", "application/json")
+				.POST(HttpRequest.BodyPublishers.ofString(json))
+				.build();
+	}
+
+	private URI uri(String path) {
+		return URI.create("http://localhost:" + port + path);
+	}
+
+	private static String seededName(int i) {
+		return "perf-user-" + i;
+	}
+
+	// Nearest-rank percentile in milliseconds (0 when there were no successful requests)
+	private static double percentileMillis(long[] sorted, double p) {
+		if (sorted.length == 0) {
+			return 0;
+		}
+		int rank = (int) Math.ceil(p * sorted.length);
+		return sorted[Math.max(0, rank - 1)] / 1e6;
+	}
+
+	/**
+	 * Slow database stand-in and in-flight request counting for the load test.
+	 */
+	@TestConfiguration
+	static class LoadTestConfig {
+
+		// Every connection checkout waits perf.db-latency while holding the connection, like a slow query
+		@Bean
+		static BeanPostProcessor slowDatabase(@Value("${perf.db-latency:0ms}") Duration latency) {
+			return new BeanPostProcessor() {
+				@Override
+				public Object postProcessAfterInitialization(Object bean, String beanName) {
+					if (!(bean instanceof DataSource dataSource) || latency.isZero()) {
+						return bean;
+					}
+					return new DelegatingDataSource(dataSource) {
+						@Override
+						public Connection getConnection() throws SQLException {
+							Connection connection = super.getConnection();
+							try {
+								Thread.sleep(latency.toMillis());
+							} catch (InterruptedException e) {
+								Thread.currentThread().interrupt();
+							}
+							return connection;
+						}
+					};
+				}
+			};
+		}
+
+		@Bean
+		InFlightRequests inFlightRequests() {
+			return new InFlightRequests();
+		}
+	}
+
+	/**
+	 * Counts requests currently inside the server (outermost filter) and remembers the peak.
+	 */
+	static final class InFlightRequests implements Filter, Ordered {
+		private final AtomicInteger current = new AtomicInteger();
+		private final AtomicInteger peak = new AtomicInteger();
+
+		@Override
+		public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+				throws IOException, ServletException {
+			peak.accumulateAndGet(current.incrementAndGet(), Math::max);
+			try {
+				chain.doFilter(request, response);
+			} finally {
+				current.decrementAndGet();
+			}
+		}
+
+		@Override
+		public int getOrder() {
+			return Ordered.HIGHEST_PRECEDENCE;
+		}
+
+		int getPeak() {
+			return peak.get();
+		}
+
+		void resetPeak() {
+			peak.set(current.get());
+		}
+	}
+
+	/**
+	 * Latencies (ns) of successful requests plus a failure count; one per client and
+	 * endpoint, so recording needs no synchronization.
+	 */
+	private static final class Samples {
+		private long[] latencies = new long[1024];
+		private int size;
+		private long errors;
+
+		void add(long nanos) {
+			if (size == latencies.length) {
+				latencies = Arrays.copyOf(latencies, size * 2);
+			}
+			latencies[size++] = nanos;
+		}
+
+		void addAll(Samples other) {
+			for (int i = 0; i < other.size; i++) {
+				add(other.latencies[i]);
+			}
+			errors += other.errors;
+		}
+
+		long[] sorted() {
+			long[] copy = Arrays.copyOf(latencies, size);
+			Arrays.sort(copy);
+			return copy;
+		}
+	}
+
+}
@@ -0,0 +1,263 @@
+package com.srinjay.secureApp.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationContext;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import com.srinjay.secureApp.model.UserPrincipal;
+import com.srinjay.secureApp.model.Users;
+import com.srinjay.secureApp.service.AuthMetrics;
+import com.srinjay.secureApp.service.JWTService;
+import com.srinjay.secureApp.service.JwtKeyRing;
+import com.srinjay.secureApp.service.MyUserDetailsService;
+import com.srinjay.secureApp.service.TokenRevocationService;
+import com.srinjay.secureApp.service.UserTokenDenylist;
+import com.srinjay.secureApp.service.VerifiedTokenCache;
+
+class JwtFilterTests {
+
+	private final JWTService jwtService = new JWTService();
+	private final UserTokenDenylist denylist = new UserTokenDenylist(Duration.ofMinutes(10), 1000);
+	private final TokenRevocationService revocations = new TokenRevocationService(denylist, null, 1000);
+	private final MyUserDetailsService userDetailsService = mock(MyUserDetailsService.class);
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+	private JwtFilter filter;
+
+	@BeforeEach
+	void setUp() {
+		ApplicationContext context = mock(ApplicationContext.class);
+		when(context.getBean(MyUserDetailsService.class)).thenReturn(userDetailsService);
+
+		filter = new JwtFilter();
+		ReflectionTestUtils.setField(filter, "jwtService", jwtService);
+		ReflectionTestUtils.setField(filter, "tokenCache", new VerifiedTokenCache(false, 0, 0));
+		ReflectionTestUtils.setField(filter, "tokenRevocations", revocations);
+		ReflectionTestUtils.setField(filter, "metrics", new AuthMetrics(registry));
+		ReflectionTestUtils.setField(filter, "context", context);
+	}
+
+	@AfterEach
+	void clearContext() {
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	void databaseModeLoadsUserForEveryRequest() throws Exception {
+		UserPrincipal principal = principal("srinjay");
+		when(userDetailsService.findUser("srinjay")).thenReturn(principal);
+
+		Authentication authentication = filter(jwtService.generateToken(principal));
+
+		assertNotNull(authentication);
+		assertEquals(principal, authentication.getPrincipal());
+		verify(userDetailsService).findUser("srinjay");
+	}
+
+	@Test
+	void statelessModeAuthenticatesFromClaimsOnly() throws Exception {
+		ReflectionTestUtils.setField(filter, "statelessAuth", true);
+
+		Authentication authentication = filter(jwtService.generateToken(principal("srinjay")));
+
+		assertNotNull(authentication);
+		assertEquals("srinjay", authentication.getName());
+		assertEquals("USER", authentication.getAuthorities().iterator().next().getAuthority());
+		verify(userDetailsService, never()).findUser(anyString());
+	}
+
+	@Test
+	void statelessModeFallsBackToDatabaseForTokensWithoutAuthorities() throws Exception {
+		ReflectionTestUtils.setField(filter, "statelessAuth", true);
+		UserPrincipal principal = principal("srinjay");
+		when(userDetailsService.findUser("srinjay")).thenReturn(principal);
+
+		Authentication authentication = filter(jwtService.generateToken("srinjay"));
+
+		assertNotNull(authentication);
+		verify(userDetailsService).findUser("srinjay");
+	}
+
+	@Test
+	void statelessModeRejectsTokensIssuedBeforeRevocation() throws Exception {
+		ReflectionTestUtils.setField(filter, "statelessAuth", true);
+		String token = jwtService.generateToken(principal("srinjay"));
+
+		Thread.sleep(1000); // "iat" has second precision
+		denylist.revokeAll("srinjay");
+
+		assertNull(filter(token));
+	}
+
+	@Test
+	void revokedTokenIsRejected() throws Exception {
+		ReflectionTestUtils.setField(filter, "statelessAuth", true);
+		String token = jwtService.generateToken(principal("srinjay"));
+
+		revocations.revoke(jwtService.verify(token));
+
+		assertNull(filter(token));
+		assertNotNull(filter(jwtService.generateToken(principal("srinjay"))));
+	}
+
+	@Test
+	void cachedTokenIsNotVerifiedAgain() throws Exception {
+		ReflectionTestUtils.setField(filter, "statelessAuth", true);
+		JWTService verifier = spy(jwtService);
+		ReflectionTestUtils.setField(filter, "jwtService", verifier);
+		ReflectionTestUtils.setField(filter, "tokenCache", new VerifiedTokenCache(true, 100, 1 << 20));
+		String token = jwtService.generateToken(principal("srinjay"));
+
+		assertNotNull(filter(token));
+		SecurityContextHolder.clearContext();
+		assertNotNull(filter(token));
+
+		verify(verifier, times(1)).verify(token);
+		assertEquals(1, registry.get("auth.token.verify").tag("outcome", AuthMetrics.VALID).timer().count());
+		assertEquals(1, registry.get("auth.token.verify").tag("outcome", AuthMetrics.CACHED).timer().count());
+	}
+
+	@Test
+	void verificationOutcomesAreTimed() throws Exception {
+		ReflectionTestUtils.setField(filter, "statelessAuth", true);
+
+		filter(jwtService.generateToken(principal("srinjay")));
+		SecurityContextHolder.clearContext();
+		filter("not-a-token");
+
+		assertEquals(1, registry.get("auth.token.verify").tag("outcome", AuthMetrics.VALID).timer().count());
+		assertEquals(1, registry.get("auth.token.verify").tag("outcome", AuthMetrics.MALFORMED).timer().count());
+		assertEquals(1, registry.get("auth.token.rejected").tag("reason", AuthMetrics.MALFORMED).counter().count());
+	}
+
+	@Test
+	void tokenWithoutSubjectIsCountedOnlyAsInvalid() throws Exception {
+		JwtKeyRing ring = JwtKeyRing.ephemeral();
+		ReflectionTestUtils.setField(filter, "jwtService", new JWTService(ring));
+		ReflectionTestUtils.setField(filter, "tokenCache", new VerifiedTokenCache(true, 100, 1 << 20));
+		String token = Jwts.builder().id("no-subject").expiration(new Date(System.currentTimeMillis() + 60_000))
+				.signWith(ring.activeKey()).compact();
+
+		assertRejected(request(token), AuthMetrics.INVALID);
+		assertRejected(request(token), AuthMetrics.INVALID); // not cached either
+
+		assertEquals(2, registry.get("auth.token.verify").tag("outcome", AuthMetrics.INVALID).timer().count());
+		assertEquals(0, registry.get("auth.token.verify").tag("outcome", AuthMetrics.VALID).timer().count());
+	}
+
+	@Test
+	void rejectionsAnswer401WithReason() throws Exception {
+		ReflectionTestUtils.setField(filter, "statelessAuth", true);
+		String token = jwtService.generateToken(principal("srinjay"));
+		String expired = Jwts.builder().subject("srinjay").expiration(new Date(System.currentTimeMillis() - 1000))
+				.signWith(Jwts.SIG.HS256.key().build()).compact();
+		String forged = token.substring(0, token.lastIndexOf('.'))
+				+ expired.substring(expired.lastIndexOf('.'));
+
+		assertRejected(request("not-a-token"), AuthMetrics.MALFORMED);
+		assertRejected(request("a.b.c.d"), AuthMetrics.MALFORMED);
+		assertRejected(request("x".repeat(10_000)), AuthMetrics.MALFORMED);
+		assertRejected(request(expired), AuthMetrics.EXPIRED);
+		assertRejected(request(forged), AuthMetrics.BAD_SIGNATURE);
+
+		revocations.revoke(jwtService.verify(token));
+		assertRejected(request(token), AuthMetrics.REVOKED);
+	}
+
+	@Test
+	void unknownUserIsRejected() throws Exception {
+		assertRejected(request(jwtService.generateToken(principal("ghost"))), AuthMetrics.UNKNOWN_USER);
+	}
+
+	@Test
+	void publicEndpointsIgnoreTheToken() throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("POST", "/login");
+		request.addHeader("Authorization", "Bearer not-a-token");
+		MockFilterChain chain = new MockFilterChain();
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		filter.doFilter(request, response, chain);
+
+		assertEquals(200, response.getStatus());
+		assertNotNull(chain.getRequest());
+		assertEquals(0, registry.get("auth.token.verify").tag("outcome", AuthMetrics.MALFORMED).timer().count());
+	}
+
+	@Test
+	void publicPathsAreMatchedLikeSpringSecurity() throws Exception {
+		// Path parameters are not part of the matched path, for Security and JwtFilter alike
+		for (String path : List.of("/login", "/login;x", "/refresh;jsessionid=1", "/actuator/health")) {
+			MockHttpServletRequest request = new MockHttpServletRequest("POST", path);
+			assertTrue(AppSecurityConfig.PUBLIC_ENDPOINTS.matches(request), path);
+			assertEquals(200, request(request, "not-a-token").getStatus(), path);
+		}
+		for (String path : List.of("/login/", "/login/x", "/loginx", "/api/login", "/actuator/health/liveness")) {
+			MockHttpServletRequest request = new MockHttpServletRequest("POST", path);
+			assertFalse(AppSecurityConfig.PUBLIC_ENDPOINTS.matches(request), path);
+			assertRejected(request(request, "not-a-token"), AuthMetrics.MALFORMED);
+		}
+	}
+
+	@Test
+	void contextPathIsNotPartOfThePublicPath() throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("POST", "/app/login");
+		request.setContextPath("/app");
+
+		assertEquals(200, request(request, "not-a-token").getStatus());
+	}
+
+	private Authentication filter(String token) throws Exception {
+		request(token);
+		return SecurityContextHolder.getContext().getAuthentication();
+	}
+
+	private MockHttpServletResponse request(String token) throws Exception {
+		return request(new MockHttpServletRequest("GET", "/students"), token);
+	}
+
+	private MockHttpServletResponse request(MockHttpServletRequest request, String token) throws Exception {
+		request.addHeader("Authorization", "Bearer " + token);
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		filter.doFilter(request, response, new MockFilterChain());
+		return response;
+	}
+
+	private static void assertRejected(MockHttpServletResponse response, String reason) {
+		assertEquals(401, response.getStatus());
+		String header = response.getHeader("WWW-Authenticate");
+		assertTrue(header.contains("error_description=\"" + reason + "\""), header);
+	}
+
+	private static UserPrincipal principal(String username) {
+		Users user = new Users();
+		user.setUsername(username);
+		user.setPassword("secret");
+		return new UserPrincipal(user);
+	}
+}
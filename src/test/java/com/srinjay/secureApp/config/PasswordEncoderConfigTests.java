@@ -0,0 +1,43 @@
+package com.srinjay.secureApp.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+class PasswordEncoderConfigTests {
+
+	@Test
+	void picksLargestStrengthWithinTarget() {
+		Duration target = Duration.ofMillis(250);
+
+		// 40 ms at strength 10 -> 80 (11), 160 (12), 320 (13): 12 fits
+		assertEquals(12, PasswordEncoderConfig.pickStrength(40_000_000, target, 10, 14));
+		assertEquals(14, PasswordEncoderConfig.pickStrength(1_000_000, target, 10, 14)); // capped
+		assertEquals(10, PasswordEncoderConfig.pickStrength(400_000_000, target, 10, 14)); // floor
+	}
+
+	@Test
+	void hashesCarryTheirIdAndOnlyWeakerOnesAreReencoded() {
+		PasswordEncoder encoder = PasswordEncoderConfig.delegating(5);
+		String current = encoder.encode("secret");
+		String legacy = new BCryptPasswordEncoder(5).encode("secret"); // stored before ids were added
+		String stronger = "{bcrypt}" + new BCryptPasswordEncoder(6).encode("secret");
+		String weaker = "{bcrypt}" + new BCryptPasswordEncoder(4).encode("secret");
+
+		assertTrue(current.startsWith("{bcrypt}$2a$05$"));
+		assertTrue(encoder.matches("secret", current));
+		assertTrue(encoder.matches("secret", legacy));
+		assertTrue(encoder.matches("secret", stronger));
+
+		assertFalse(encoder.upgradeEncoding(current));
+		assertTrue(encoder.upgradeEncoding(legacy));
+		assertFalse(encoder.upgradeEncoding(stronger)); // never downgraded
+		assertTrue(encoder.upgradeEncoding(weaker));
+	}
+}
@@ -0,0 +1,104 @@
+package com.srinjay.secureApp.controller;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+import java.io.ByteArrayInputStream;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.srinjay.secureApp.model.Student;
+import com.srinjay.secureApp.repo.InMemoryStudentStore;
+import com.srinjay.secureApp.service.StudentNameIndex;
+import com.srinjay.secureApp.service.StudentService;
+import com.srinjay.secureApp.service.StudentStats;
+
+class StudentControllerTests {
+
+	private final StudentService service = new StudentService();
+	private final MockMvc mvc;
+
+	StudentControllerTests() {
+		ReflectionTestUtils.setField(service, "store", new InMemoryStudentStore());
+		ReflectionTestUtils.setField(service, "objectMapper", new ObjectMapper());
+		ReflectionTestUtils.setField(service, "nameIndex", new StudentNameIndex());
+		ReflectionTestUtils.setField(service, "stats", new StudentStats());
+		service.rebuildIndexes();
+		StudentController controller = new StudentController();
+		ReflectionTestUtils.setField(controller, "service", service);
+		mvc = MockMvcBuilders.standaloneSetup(controller).build();
+	}
+
+	@Test
+	void listIsServedWithAStrongEtagAndVary() throws Exception {
+		MockHttpServletResponse response = getStudents(null, null);
+
+		assertEquals(200, response.getStatus());
+		assertTrue(response.getHeader(HttpHeaders.ETAG).startsWith("\""));
+		assertEquals(HttpHeaders.ACCEPT_ENCODING, response.getHeader(HttpHeaders.VARY));
+		assertTrue(response.getContentAsString().contains("Srinjay"));
+	}
+
+	@Test
+	void matchingIfNoneMatchIsAnswered304WithVary() throws Exception {
+		String etag = getStudents(null, null).getHeader(HttpHeaders.ETAG);
+
+		MockHttpServletResponse response = getStudents(etag, null);
+
+		assertEquals(304, response.getStatus());
+		assertEquals(etag, response.getHeader(HttpHeaders.ETAG));
+		assertEquals(HttpHeaders.ACCEPT_ENCODING, response.getHeader(HttpHeaders.VARY));
+		assertEquals(0, response.getContentAsByteArray().length);
+	}
+
+	@Test
+	void gzipBodyHasItsOwnEtag() throws Exception {
+		MockHttpServletResponse plain = getStudents(null, null);
+		MockHttpServletResponse gzip = getStudents(null, "gzip, deflate");
+
+		assertEquals("gzip", gzip.getHeader(HttpHeaders.CONTENT_ENCODING));
+		assertEquals(HttpHeaders.ACCEPT_ENCODING, gzip.getHeader(HttpHeaders.VARY));
+		assertNotEquals(plain.getHeader(HttpHeaders.ETAG), gzip.getHeader(HttpHeaders.ETAG));
+		try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzip.getContentAsByteArray()))) {
+			assertArrayEquals(plain.getContentAsByteArray(), in.readAllBytes());
+		}
+		// The plain ETag does not validate the gzip representation
+		assertEquals(200, getStudents(plain.getHeader(HttpHeaders.ETAG), "gzip").getStatus());
+	}
+
+	@Test
+	void writeInvalidatesTheCachedList() throws Exception {
+		assertSame(service.getEncodedStudents(), service.getEncodedStudents()); // no write, no rebuild
+		String before = getStudents(null, null).getHeader(HttpHeaders.ETAG);
+
+		service.addStudent(new Student(3, "Asha", 90));
+		MockHttpServletResponse response = getStudents(before, null);
+
+		assertEquals(200, response.getStatus());
+		assertNotEquals(before, response.getHeader(HttpHeaders.ETAG));
+		assertTrue(response.getContentAsString().contains("Asha"));
+	}
+
+	private MockHttpServletResponse getStudents(String ifNoneMatch, String acceptEncoding) throws Exception {
+		MockHttpServletRequestBuilder request = get("/students");
+		if (ifNoneMatch != null) {
+			request.header(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+		}
+		if (acceptEncoding != null) {
+			request.header(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+		}
+		return mvc.perform(request).andReturn().getResponse();
+	}
+}
@@ -0,0 +1,108 @@
+package com.srinjay.secureApp.repo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.srinjay.secureApp.model.Student;
+
+class InMemoryStudentStoreTests {
+
+	@Test
+	void concurrentWritesAndReadsKeepIndexesConsistent() throws Exception {
+		InMemoryStudentStore store = new InMemoryStudentStore();
+		int writers = 8;
+		int readers = 4;
+		int writesPerThread = 20_000;
+		int idSpace = 5_000; // small id space so writers keep replacing each other's students
+
+		ExecutorService pool = Executors.newFixedThreadPool(writers + readers);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<?>> futures = new ArrayList<>();
+		for (int w = 0; w < writers; w++) {
+			futures.add(pool.submit(() -> {
+				start.await();
+				ThreadLocalRandom random = ThreadLocalRandom.current();
+				for (int i = 0; i < writesPerThread; i++) {
+					int id = random.nextInt(idSpace);
+					store.save(new Student(id, "student-" + id, random.nextInt(101)));
+				}
+				return null;
+			}));
+		}
+		for (int r = 0; r < readers; r++) {
+			futures.add(pool.submit(() -> {
+				start.await();
+				for (int i = 0; i < 500; i++) {
+					// Reads never throw and always come back sorted
+					assertSortedById(store.findAll());
+					List<Student> range = store.findByMarksBetween(40, 60);
+					for (Student s : range) {
+						assertTrue(s.getMarks() >= 40 && s.getMarks() <= 60);
+					}
+				}
+				return null;
+			}));
+		}
+		start.countDown();
+		for (Future<?> future : futures) {
+			future.get(60, TimeUnit.SECONDS);
+		}
+		pool.shutdown();
+
+		// Once writes have stopped, every index describes the same set of students
+		List<Student> all = store.findAll();
+		assertEquals(store.count(), all.size());
+		assertEquals(all.size(), store.findByMarksBetween(Integer.MIN_VALUE, Integer.MAX_VALUE).size());
+		for (Student s : all) {
+			assertEquals(s, store.findById(s.getId()).orElseThrow());
+			assertTrue(store.findByMarksBetween(s.getMarks(), s.getMarks()).contains(s));
+		}
+	}
+
+	@Test
+	void replacingStudentMovesItInMarksIndex() {
+		InMemoryStudentStore store = new InMemoryStudentStore();
+		store.save(new Student(10, "Asha", 50));
+		Student previous = store.save(new Student(10, "Asha", 90));
+
+		assertEquals(50, previous.getMarks());
+		assertTrue(store.findByMarksBetween(50, 50).isEmpty());
+		assertEquals(10, store.findByMarksBetween(90, 90).get(0).getId());
+	}
+
+	@Test
+	void marksPagesWalkTiesWithoutGapsOrDuplicates() {
+		InMemoryStudentStore store = new InMemoryStudentStore();
+		for (int id = 100; id < 200; id++) {
+			store.save(new Student(id, "s" + id, id % 5 * 10)); // many students share the same marks
+		}
+
+		List<Student> seen = new ArrayList<>();
+		List<Student> page = store.findPageOrderByMarks(null, null, 10, 30, 7);
+		while (!page.isEmpty()) {
+			seen.addAll(page);
+			Student last = page.get(page.size() - 1);
+			page = store.findPageOrderByMarks(last.getMarks(), last.getId(), 10, 30, 7);
+		}
+
+		assertEquals(store.findByMarksBetween(10, 30), seen);
+		assertEquals(61, seen.size()); // 60 generated + the seeded student with 30 marks
+	}
+
+	private static void assertSortedById(List<Student> students) {
+		for (int i = 1; i < students.size(); i++) {
+			assertTrue(students.get(i - 1).getId() < students.get(i).getId());
+		}
+	}
+}
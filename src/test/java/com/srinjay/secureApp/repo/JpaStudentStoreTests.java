@@ -0,0 +1,131 @@
+package com.srinjay.secureApp.repo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataAccessException;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.srinjay.secureApp.model.Student;
+
+// Runs against an embedded H2 database; no test-managed transaction, so saveAll commits or rolls back for real
+@DataJpaTest(properties = {
+		"app.students.store=jpa",
+		"spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@Import(JpaStudentStore.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class JpaStudentStoreTests {
+
+	@Autowired
+	private JpaStudentStore store;
+
+	@Autowired
+	private StudentRepo repo;
+
+	@BeforeEach
+	void clear() {
+		repo.deleteAll();
+	}
+
+	@Test
+	void newStudentsAreInsertedAsOneBatch() {
+		List<Student> previous = store.saveAll(List.of(new Student(1, "Asha", 70), new Student(2, "Ravi", 80)));
+
+		assertEquals(Arrays.asList(null, null), previous);
+		assertEquals(2, store.count());
+	}
+
+	@Test
+	void batchWithAnExistingIdReplacesItWithoutDuplicates() {
+		store.save(new Student(2, "Old", 10));
+		long version = store.version();
+
+		List<Student> previous = store.saveAll(List.of(new Student(1, "Asha", 70), new Student(2, "Ravi", 80),
+				new Student(3, "Mira", 90)));
+
+		assertNull(previous.get(0));
+		assertEquals("Old", previous.get(1).getName());
+		assertNull(previous.get(2));
+		assertEquals(3, store.count());
+		assertEquals("Ravi", store.findById(2).orElseThrow().getName());
+		assertEquals(version + 1, store.version());
+	}
+
+	@Test
+	void idRepeatedInTheListKeepsTheLastRow() {
+		List<Student> previous = store.saveAll(List.of(new Student(5, "First", 10), new Student(5, "Second", 20)));
+
+		assertNull(previous.get(0));
+		assertEquals("First", previous.get(1).getName());
+		assertEquals(1, store.count());
+		assertEquals("Second", store.findById(5).orElseThrow().getName());
+	}
+
+	@Test
+	void marksPagesOrderTiesByIdWithoutGapsOrDuplicates() {
+		List<Student> students = new ArrayList<>();
+		for (int id = 1; id <= 30; id++) {
+			students.add(new Student(id, "s" + id, id % 3 * 10)); // ten students per marks value
+		}
+		store.saveAll(students);
+
+		List<Student> seen = new ArrayList<>();
+		List<Student> page = store.findPageOrderByMarks(null, null, 0, 10, 4);
+		while (!page.isEmpty()) {
+			seen.addAll(page);
+			Student last = page.get(page.size() - 1);
+			page = store.findPageOrderByMarks(last.getMarks(), last.getId(), 0, 10, 4);
+		}
+
+		List<Integer> expected = new ArrayList<>();
+		for (int marks = 0; marks <= 10; marks += 10) {
+			for (int id = 1; id <= 30; id++) {
+				if (id % 3 * 10 == marks) {
+					expected.add(id);
+				}
+			}
+		}
+		assertEquals(expected, seen.stream().map(Student::getId).toList());
+	}
+
+	@Test
+	void idPagesApplyTheMarksFilterAfterTheCursor() {
+		List<Student> students = new ArrayList<>();
+		for (int id = 1; id <= 20; id++) {
+			students.add(new Student(id, "s" + id, id * 5));
+		}
+		store.saveAll(students);
+
+		List<Student> first = store.findPageOrderById(null, 30, 60, 3);
+		List<Student> second = store.findPageOrderById(first.get(2).getId(), 30, 60, 3);
+		List<Student> third = store.findPageOrderById(second.get(2).getId(), 30, 60, 3);
+
+		assertEquals(List.of(6, 7, 8), first.stream().map(Student::getId).toList());
+		assertEquals(List.of(9, 10, 11), second.stream().map(Student::getId).toList());
+		assertEquals(List.of(12), third.stream().map(Student::getId).toList());
+	}
+
+	@Test
+	void failingRowRollsBackTheWholeBatch() {
+		store.save(new Student(2, "Old", 10));
+
+		// The update of id 2 is fine; the insert of id 3 fails because the name does not fit the column
+		assertThrows(DataAccessException.class, () -> store.saveAll(List.of(new Student(1, "Asha", 70),
+				new Student(2, "Ravi", 80), new Student(3, "x".repeat(300), 90))));
+
+		assertEquals(1, store.count());
+		assertEquals("Old", store.findById(2).orElseThrow().getName());
+	}
+}
@@ -0,0 +1,220 @@
+package com.srinjay.secureApp.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.SignatureException;
+
+class JwtKeyRingTests {
+
+	@TempDir
+	Path dir;
+
+	@Test
+	void rotationKeepsPreviousKeyForTheOverlap() throws Exception {
+		JwtKeyRing ring = new JwtKeyRing(dir.resolve("keys").toString(), false, Duration.ofDays(7), Duration.ofHours(1));
+		JWTService jwtService = new JWTService(ring);
+		String before = jwtService.generateToken("srinjay");
+		String oldKid = ring.activeKeyId();
+
+		ring.rotate();
+
+		assertNotEquals(oldKid, ring.activeKeyId());
+		assertEquals("srinjay", jwtService.verify(before).getSubject());
+		assertEquals("srinjay", jwtService.verify(jwtService.generateToken("srinjay")).getSubject());
+	}
+
+	@Test
+	void keysRetiredLongerThanTheOverlapAreDropped() throws Exception {
+		JwtKeyRing ring = new JwtKeyRing(dir.resolve("keys").toString(), false, Duration.ofDays(7), Duration.ZERO);
+		String oldKid = ring.activeKeyId();
+
+		ring.rotate();
+		Thread.sleep(5);
+		ring.rotate();
+
+		assertNull(ring.key(oldKid));
+		assertEquals(2, ring.keyIds().size());
+	}
+
+	@Test
+	void droppingAKeyClearsTheVerifiedTokenCache() throws Exception {
+		JwtKeyRing ring = new JwtKeyRing(dir.resolve("keys").toString(), false, Duration.ofDays(7), Duration.ZERO);
+		VerifiedTokenCache cache = new VerifiedTokenCache(true, 100, 1 << 20);
+		ReflectionTestUtils.setField(ring, "tokenCache", cache);
+		JWTService jwtService = new JWTService(ring);
+		String token = jwtService.generateToken("srinjay");
+		cache.put(token, jwtService.verify(token));
+
+		ring.rotate(); // old key retired, still verifying
+		assertNotNull(cache.getIfPresent(token));
+
+		Thread.sleep(5);
+		ring.rotate(); // old key dropped
+		assertNull(cache.getIfPresent(token));
+	}
+
+	@Test
+	void maintainRotatesOnlyWhenDue() throws Exception {
+		JwtKeyRing ring = new JwtKeyRing(dir.resolve("keys").toString(), true, Duration.ofMillis(50), Duration.ofHours(1));
+		String first = ring.activeKeyId();
+
+		ring.maintain();
+		assertEquals(first, ring.activeKeyId());
+
+		Thread.sleep(60);
+		ring.maintain();
+		assertNotEquals(first, ring.activeKeyId());
+		assertNotNull(ring.key(first));
+	}
+
+	@Test
+	void restartLoadsKeysFromTheFile() {
+		String file = dir.resolve("keys").toString();
+		JwtKeyRing ring = new JwtKeyRing(file, false, Duration.ofDays(7), Duration.ofHours(1));
+		String token = new JWTService(ring).generateToken("srinjay");
+
+		JwtKeyRing restarted = new JwtKeyRing(file, false, Duration.ofDays(7), Duration.ofHours(1));
+
+		assertEquals(ring.activeKeyId(), restarted.activeKeyId());
+		assertEquals("srinjay", new JWTService(restarted).verify(token).getSubject());
+	}
+
+	@Test
+	void reloadMergesInsteadOfReplacing() throws Exception {
+		String file = dir.resolve("keys").toString();
+		JwtKeyRing a = new JwtKeyRing(file, false, Duration.ofDays(7), Duration.ofHours(1));
+		JwtKeyRing b = new JwtKeyRing(file, false, Duration.ofDays(7), Duration.ofHours(1));
+
+		a.rotate();
+		String tokenFromA = new JWTService(a).generateToken("srinjay");
+		Thread.sleep(5);
+		b.rotate(); // B merges A's new key before writing its own
+		touch(file);
+		a.maintain();
+
+		assertEquals(b.activeKeyId(), a.activeKeyId());
+		assertEquals(b.keyIds(), a.keyIds());
+		assertEquals("srinjay", new JWTService(a).verify(tokenFromA).getSubject());
+		assertEquals("srinjay", new JWTService(b).verify(tokenFromA).getSubject());
+	}
+
+	@Test
+	void keysMissingFromTheFileAreWrittenBack() throws Exception {
+		String file = dir.resolve("keys").toString();
+		JwtKeyRing a = new JwtKeyRing(file, false, Duration.ofDays(7), Duration.ofHours(1));
+		String tokenFromA = new JWTService(a).generateToken("srinjay");
+
+		// Another replica overwrites the file with a ring that never saw A's key
+		Files.delete(Path.of(file));
+		JwtKeyRing b = new JwtKeyRing(file, false, Duration.ofDays(7), Duration.ofHours(1));
+		touch(file);
+		a.maintain();
+
+		JwtKeyRing c = new JwtKeyRing(file, false, Duration.ofDays(7), Duration.ofHours(1));
+		assertEquals(b.activeKeyId(), a.activeKeyId());
+		assertEquals("srinjay", new JWTService(c).verify(tokenFromA).getSubject());
+	}
+
+	@Test
+	void concurrentRotationOnSharedFileLosesNoKeys() throws Exception {
+		String file = dir.resolve("keys").toString();
+		List<JwtKeyRing> rings = new ArrayList<>();
+		for (int i = 0; i < 4; i++) {
+			rings.add(new JwtKeyRing(file, false, Duration.ofDays(7), Duration.ofHours(1)));
+		}
+
+		ExecutorService executor = Executors.newFixedThreadPool(rings.size());
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<String>> tokens = new ArrayList<>();
+		for (JwtKeyRing ring : rings) {
+			tokens.add(executor.submit(() -> {
+				start.await();
+				ring.rotate();
+				return new JWTService(ring).generateToken("srinjay");
+			}));
+		}
+		start.countDown();
+		List<String> issued = new ArrayList<>();
+		for (Future<String> token : tokens) {
+			issued.add(token.get());
+		}
+		executor.shutdown();
+
+		touch(file);
+		for (JwtKeyRing ring : rings) {
+			ring.maintain();
+		}
+		for (JwtKeyRing ring : rings) {
+			assertEquals(rings.get(0).activeKeyId(), ring.activeKeyId());
+			for (String token : issued) {
+				assertEquals("srinjay", new JWTService(ring).verify(token).getSubject());
+			}
+		}
+	}
+
+	@Test
+	void concurrentStartupOnEmptyFileAgreesOnOneKey() throws Exception {
+		String file = dir.resolve("keys").toString();
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		List<Future<JwtKeyRing>> rings = new ArrayList<>();
+		for (int i = 0; i < 4; i++) {
+			rings.add(executor.submit(() -> new JwtKeyRing(file, false, Duration.ofDays(7), Duration.ofHours(1))));
+		}
+		String kid = rings.get(0).get().activeKeyId();
+		for (Future<JwtKeyRing> ring : rings) {
+			assertEquals(kid, ring.get().activeKeyId());
+			assertEquals(1, ring.get().keyIds().size());
+		}
+		executor.shutdown();
+	}
+
+	@Test
+	void tokensWithoutKidAreCheckedAgainstTheActiveKey() {
+		JwtKeyRing ring = new JwtKeyRing(dir.resolve("keys").toString(), false, Duration.ofDays(7), Duration.ofHours(1));
+		JWTService jwtService = new JWTService(ring);
+		String legacy = Jwts.builder().subject("srinjay").signWith(ring.activeKey()).compact();
+
+		assertEquals("srinjay", jwtService.verify(legacy).getSubject());
+
+		ring.rotate();
+		assertThrows(SignatureException.class, () -> jwtService.verify(legacy));
+	}
+
+	@Test
+	void ephemeralRingIsNotPersisted() {
+		JwtKeyRing ring = JwtKeyRing.ephemeral();
+		String kid = ring.activeKeyId();
+
+		ring.rotate();
+
+		assertNotEquals(kid, ring.activeKeyId());
+		assertTrue(ring.keyIds().contains(ring.activeKeyId()));
+	}
+
+	// Some file systems keep mtime at a coarse resolution; make the change visible to maintain()
+	private static void touch(String file) throws Exception {
+		Path path = Path.of(file);
+		Files.setLastModifiedTime(path, FileTime.fromMillis(Files.getLastModifiedTime(path).toMillis() + 1000));
+	}
+}
@@ -0,0 +1,103 @@
+package com.srinjay.secureApp.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+class LoginThrottleTests {
+
+	@Test
+	void userBucketRefillsOverTime() throws Exception {
+		LoginThrottle throttle = throttle(3, Duration.ofMillis(100), 1000, Duration.ofMillis(1), 5, Duration.ofMinutes(15));
+
+		for (int i = 0; i < 3; i++) {
+			assertTrue(throttle.tryAcquire("srinjay", "10.0.0.1"));
+		}
+		assertFalse(throttle.tryAcquire("srinjay", "10.0.0.1"));
+
+		Thread.sleep(150);
+		assertTrue(throttle.tryAcquire("srinjay", "10.0.0.1")); // one token earned back
+		assertFalse(throttle.tryAcquire("srinjay", "10.0.0.1"));
+		assertEquals(4, throttle.getAllowedCount());
+		assertEquals(2, throttle.getThrottledCount());
+	}
+
+	@Test
+	void userLimitAppliesAcrossIps() {
+		LoginThrottle throttle = throttle(2, Duration.ofMinutes(1), 1000, Duration.ofMinutes(1), 5, Duration.ofMinutes(15));
+
+		assertTrue(throttle.tryAcquire("srinjay", "10.0.0.1"));
+		assertTrue(throttle.tryAcquire("srinjay", "10.0.0.2"));
+		assertFalse(throttle.tryAcquire("srinjay", "10.0.0.3"));
+		assertTrue(throttle.tryAcquire("other", "10.0.0.3"));
+	}
+
+	@Test
+	void ipLimitAppliesAcrossUsernames() {
+		LoginThrottle throttle = throttle(1000, Duration.ofMinutes(1), 2, Duration.ofMinutes(1), 5, Duration.ofMinutes(15));
+
+		assertTrue(throttle.tryAcquire("a", "10.0.0.1"));
+		assertTrue(throttle.tryAcquire("b", "10.0.0.1"));
+		assertFalse(throttle.tryAcquire("c", "10.0.0.1"));
+		assertTrue(throttle.tryAcquire("c", "10.0.0.2"));
+	}
+
+	@Test
+	void repeatedFailuresLockTheUsernameUntilTheLockEnds() throws Exception {
+		LoginThrottle throttle = throttle(5, Duration.ofSeconds(10), 20, Duration.ofSeconds(1), 3, Duration.ofMillis(200));
+
+		throttle.recordFailure("srinjay");
+		throttle.recordFailure("srinjay");
+		assertFalse(throttle.isLocked("srinjay"));
+
+		throttle.recordFailure("srinjay");
+		assertTrue(throttle.isLocked("srinjay"));
+		assertFalse(throttle.isLocked("other"));
+
+		Thread.sleep(250);
+		assertFalse(throttle.isLocked("srinjay"));
+	}
+
+	@Test
+	void failureCountStartsAgainAfterTheLockEnds() throws Exception {
+		LoginThrottle throttle = throttle(5, Duration.ofSeconds(10), 20, Duration.ofSeconds(1), 3, Duration.ofMillis(200));
+		for (int i = 0; i < 3; i++) {
+			throttle.recordFailure("srinjay");
+		}
+		// Attempts during the lock keep the counter cached until the lock ends
+		while (throttle.isLocked("srinjay")) {
+			Thread.sleep(20);
+		}
+
+		// One mistake after the lock is not enough to lock again
+		throttle.recordFailure("srinjay");
+		assertFalse(throttle.isLocked("srinjay"));
+		throttle.recordFailure("srinjay");
+		assertFalse(throttle.isLocked("srinjay"));
+
+		throttle.recordFailure("srinjay");
+		assertTrue(throttle.isLocked("srinjay"));
+	}
+
+	@Test
+	void successForgetsEarlierFailures() {
+		LoginThrottle throttle = throttle(5, Duration.ofSeconds(10), 20, Duration.ofSeconds(1), 3, Duration.ofMinutes(15));
+		throttle.recordFailure("srinjay");
+		throttle.recordFailure("srinjay");
+
+		throttle.recordSuccess("srinjay");
+		throttle.recordFailure("srinjay");
+		throttle.recordFailure("srinjay");
+
+		assertFalse(throttle.isLocked("srinjay"));
+	}
+
+	private static LoginThrottle throttle(long userCapacity, Duration userRefill, long ipCapacity, Duration ipRefill,
+			int maxFailures, Duration lockDuration) {
+		return new LoginThrottle(userCapacity, userRefill, ipCapacity, ipRefill, maxFailures, lockDuration, 1000);
+	}
+}
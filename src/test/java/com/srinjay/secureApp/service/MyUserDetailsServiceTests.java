@@ -0,0 +1,153 @@
+package com.srinjay.secureApp.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.srinjay.secureApp.model.Users;
+import com.srinjay.secureApp.repo.UserRepo;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class MyUserDetailsServiceTests {
+
+	private final UserRepo repo = mock(UserRepo.class);
+	private MyUserDetailsService service;
+
+	@BeforeEach
+	void setUp() {
+		service = new MyUserDetailsService(100, Duration.ofMinutes(5), 100, Duration.ofMinutes(5), Set.of());
+		ReflectionTestUtils.setField(service, "repo", repo);
+		ReflectionTestUtils.setField(service, "loginThrottle", new LoginThrottle(5, Duration.ofSeconds(10),
+				20, Duration.ofSeconds(1), 5, Duration.ofMinutes(15), 1000));
+		ReflectionTestUtils.setField(service, "usernameFilter", new UsernameFilter(false, 1000, 0.01));
+		ReflectionTestUtils.setField(service, "metrics", new AuthMetrics(new SimpleMeterRegistry()));
+	}
+
+	@Test
+	void secondLookupIsServedFromTheCache() {
+		when(repo.findByUsername("srinjay")).thenReturn(user("srinjay", "hash"));
+
+		UserDetails first = service.findUser("srinjay");
+		UserDetails second = service.findUser("srinjay");
+
+		assertSame(first, second);
+		verify(repo, times(1)).findByUsername("srinjay");
+		assertEquals(1, service.cacheStats().hitCount());
+	}
+
+	@Test
+	void concurrentMissesShareOneQuery() throws Exception {
+		when(repo.findByUsername("srinjay")).thenAnswer(invocation -> {
+			Thread.sleep(100); // slow query, so every caller arrives while it runs
+			return user("srinjay", "hash");
+		});
+
+		int callers = 16;
+		ExecutorService executor = Executors.newFixedThreadPool(callers);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<UserDetails>> results = new ArrayList<>();
+		for (int i = 0; i < callers; i++) {
+			results.add(executor.submit(() -> {
+				start.await();
+				return service.findUser("srinjay");
+			}));
+		}
+		start.countDown();
+		UserDetails expected = results.get(0).get();
+		for (Future<UserDetails> result : results) {
+			assertSame(expected, result.get());
+		}
+		executor.shutdown();
+
+		verify(repo, times(1)).findByUsername("srinjay");
+	}
+
+	@Test
+	void unknownUsersAreAnsweredFromTheNegativeCache() {
+		assertNull(service.findUser("ghost"));
+		assertNull(service.findUser("ghost"));
+
+		verify(repo, times(1)).findByUsername("ghost");
+		assertEquals(1, service.negativeCacheHits());
+	}
+
+	@Test
+	void savingAUserDropsStaleEntries() {
+		when(repo.findByUsername("srinjay")).thenReturn(user("srinjay", "old"));
+		assertEquals("old", service.findUser("srinjay").getPassword());
+
+		when(repo.findByUsername("srinjay")).thenReturn(user("srinjay", "new"));
+		assertEquals("old", service.findUser("srinjay").getPassword()); // still cached
+
+		service.onUserSaved("srinjay");
+		assertEquals("new", service.findUser("srinjay").getPassword());
+	}
+
+	@Test
+	void savingAUserClearsItsNegativeEntry() {
+		assertNull(service.findUser("newcomer"));
+
+		when(repo.findByUsername("newcomer")).thenReturn(user("newcomer", "hash"));
+		service.onUserSaved("newcomer");
+
+		assertNotNull(service.findUser("newcomer"));
+	}
+
+	@Test
+	void updatePasswordRefreshesTheCachedUser() {
+		Users stored = user("srinjay", "{bcrypt}old");
+		when(repo.findByUsername("srinjay")).thenReturn(stored);
+		when(repo.save(any(Users.class))).thenAnswer(invocation -> invocation.getArgument(0));
+		UserDetails before = service.findUser("srinjay");
+
+		UserDetails after = service.updatePassword(before, "{bcrypt}new");
+
+		assertEquals("{bcrypt}new", after.getPassword());
+		assertEquals("{bcrypt}new", service.findUser("srinjay").getPassword());
+		verify(repo).save(stored);
+	}
+
+	@Test
+	void cachedUserReflectsALockImmediately() {
+		LoginThrottle loginThrottle = new LoginThrottle(5, Duration.ofSeconds(10), 20, Duration.ofSeconds(1), 2,
+				Duration.ofMinutes(15), 1000);
+		ReflectionTestUtils.setField(service, "loginThrottle", loginThrottle);
+		when(repo.findByUsername("srinjay")).thenReturn(user("srinjay", "hash"));
+		UserDetails cached = service.findUser("srinjay");
+
+		loginThrottle.recordFailure("srinjay");
+		loginThrottle.recordFailure("srinjay");
+
+		assertFalse(cached.isAccountNonLocked());
+		assertFalse(service.findUser("srinjay").isAccountNonLocked());
+	}
+
+	private static Users user(String username, String password) {
+		Users user = new Users();
+		user.setUsername(username);
+		user.setPassword(password);
+		return user;
+	}
+}
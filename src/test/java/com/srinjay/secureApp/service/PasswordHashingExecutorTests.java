@@ -0,0 +1,108 @@
+package com.srinjay.secureApp.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+class PasswordHashingExecutorTests {
+
+	private PasswordHashingExecutor executor;
+
+	@AfterEach
+	void shutdown() {
+		executor.shutdown();
+	}
+
+	@Test
+	void fullQueueIsRejectedWith503() throws Exception {
+		executor = new PasswordHashingExecutor(1, 1);
+		CountDownLatch release = new CountDownLatch(1);
+		CountDownLatch running = new CountDownLatch(1);
+		CompletableFuture<String> busy = executor.submit(() -> {
+			running.countDown();
+			await(release);
+			return "busy";
+		});
+		assertTrue(running.await(5, TimeUnit.SECONDS));
+		CompletableFuture<String> queued = executor.submit(() -> "queued");
+
+		ResponseStatusException e = assertThrows(ResponseStatusException.class, () -> executor.submit(() -> "rejected"));
+
+		assertEquals(HttpStatus.SERVICE_UNAVAILABLE, e.getStatusCode());
+		assertEquals(1, executor.getRejectedCount());
+		assertEquals(1, executor.getQueueDepth());
+
+		release.countDown();
+		assertEquals("busy", busy.get(5, TimeUnit.SECONDS));
+		assertEquals("queued", queued.get(5, TimeUnit.SECONDS));
+		assertEquals(2, executor.getCompletedCount());
+	}
+
+	@Test
+	void mapAllKeepsAtMostOneTaskPerThreadInFlight() {
+		executor = new PasswordHashingExecutor(2, 2);
+		AtomicInteger maxQueued = new AtomicInteger();
+		List<Integer> items = new ArrayList<>();
+		for (int i = 0; i < 50; i++) {
+			items.add(i);
+		}
+
+		// 50 items through a queue of 2: without the bound most submits would be rejected.
+		// Two tasks in flight and this one running leaves at most one waiting.
+		List<Integer> results = executor.mapAll(items, item -> {
+			maxQueued.accumulateAndGet(executor.getQueueDepth(), Math::max);
+			sleep(2);
+			return item * 10;
+		});
+
+		assertTrue(maxQueued.get() <= 1, "tasks queued: " + maxQueued.get());
+		assertEquals(0, executor.getRejectedCount());
+		for (int i = 0; i < items.size(); i++) {
+			assertEquals(i * 10, results.get(i));
+		}
+	}
+
+	@Test
+	void mapAllLeavesQueueRoomForInteractiveRequests() throws Exception {
+		executor = new PasswordHashingExecutor(1, 2);
+		CountDownLatch started = new CountDownLatch(1);
+		CompletableFuture<List<Integer>> bulk = CompletableFuture.supplyAsync(() -> executor.mapAll(List.of(1, 2, 3, 4, 5), item -> {
+			started.countDown();
+			sleep(20);
+			return item;
+		}));
+		assertTrue(started.await(5, TimeUnit.SECONDS));
+
+		// The bulk job holds at most one slot, so a login still finds room
+		assertEquals("login", executor.submit(() -> "login").get(5, TimeUnit.SECONDS));
+		assertEquals(List.of(1, 2, 3, 4, 5), bulk.get(5, TimeUnit.SECONDS));
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,151 @@
+package com.srinjay.secureApp.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.srinjay.secureApp.model.RefreshToken;
+import com.srinjay.secureApp.repo.RefreshTokenRepo;
+
+class RefreshTokenServiceTests {
+
+	// Stands in for the refresh_token table
+	private final Map<String, RefreshToken> table = new ConcurrentHashMap<>();
+	private final RefreshTokenRepo repo = mock(RefreshTokenRepo.class);
+	private RefreshTokenService service;
+
+	@BeforeEach
+	void setUp() {
+		when(repo.save(any(RefreshToken.class))).thenAnswer(invocation -> {
+			RefreshToken token = invocation.getArgument(0);
+			table.put(token.getTokenHash(), token);
+			return token;
+		});
+		when(repo.findById(anyString())).thenAnswer(invocation -> Optional.ofNullable(table.get(invocation.getArgument(0))));
+		when(repo.deleteByTokenHash(anyString()))
+				.thenAnswer(invocation -> table.remove(invocation.getArgument(0)) == null ? 0 : 1);
+		when(repo.deleteAllByUsername(anyString())).thenAnswer(invocation -> removeIf(
+				token -> token.getUsername().equals(invocation.getArgument(0))));
+		when(repo.deleteAllExpiredBefore(anyLong())).thenAnswer(invocation -> removeIf(
+				token -> token.getExpiresAt() < (long) invocation.getArgument(0)));
+
+		service = new RefreshTokenService();
+		ReflectionTestUtils.setField(service, "repo", repo);
+		ReflectionTestUtils.setField(service, "ttl", Duration.ofDays(7));
+	}
+
+	@Test
+	void onlyTheHashIsStored() {
+		String raw = service.issue("srinjay");
+
+		assertEquals(1, table.size());
+		RefreshToken stored = table.values().iterator().next();
+		assertNotEquals(raw, stored.getTokenHash());
+		assertEquals("srinjay", stored.getUsername());
+	}
+
+	@Test
+	void rotationIssuesANewTokenAndRetiresTheOldOne() {
+		String first = service.issue("srinjay");
+
+		assertEquals("srinjay", service.consume(first));
+		String second = service.issue("srinjay");
+
+		assertNotEquals(first, second);
+		assertEquals(1, table.size());
+		assertEquals("srinjay", service.consume(second));
+	}
+
+	@Test
+	void aConsumedTokenCannotBeReused() {
+		String raw = service.issue("srinjay");
+		service.consume(raw);
+
+		assertThrows(BadCredentialsException.class, () -> service.consume(raw));
+	}
+
+	@Test
+	void concurrentUseOfOneTokenLetsOnlyOneRequestThrough() {
+		String raw = service.issue("srinjay");
+		RefreshToken stored = table.values().iterator().next();
+		// Both requests read the row before either deletes it
+		when(repo.findById(stored.getTokenHash())).thenReturn(Optional.of(stored));
+
+		assertEquals("srinjay", service.consume(raw));
+		assertThrows(BadCredentialsException.class, () -> service.consume(raw));
+		assertTrue(table.isEmpty());
+	}
+
+	@Test
+	void unknownAndEmptyTokensAreRejected() {
+		assertThrows(BadCredentialsException.class, () -> service.consume("not-a-token"));
+		assertThrows(BadCredentialsException.class, () -> service.consume(""));
+		assertThrows(BadCredentialsException.class, () -> service.consume(null));
+	}
+
+	@Test
+	void expiredTokensAreRejectedAndPurged() {
+		ReflectionTestUtils.setField(service, "ttl", Duration.ofMillis(-1));
+		String expired = service.issue("srinjay");
+		ReflectionTestUtils.setField(service, "ttl", Duration.ofDays(7));
+		String live = service.issue("srinjay");
+
+		assertThrows(BadCredentialsException.class, () -> service.consume(expired));
+		assertEquals(2, table.size()); // left for purgeExpired()
+
+		service.purgeExpired();
+
+		assertEquals(1, table.size());
+		assertThrows(BadCredentialsException.class, () -> service.consume(expired));
+		assertEquals("srinjay", service.consume(live));
+	}
+
+	@Test
+	void revokeRemovesOneToken() {
+		String revoked = service.issue("srinjay");
+		String kept = service.issue("srinjay");
+
+		service.revoke(revoked);
+		service.revoke("unknown");
+
+		assertThrows(BadCredentialsException.class, () -> service.consume(revoked));
+		assertEquals("srinjay", service.consume(kept));
+	}
+
+	@Test
+	void revokeAllRemovesEveryTokenOfTheUser() {
+		String first = service.issue("srinjay");
+		String second = service.issue("srinjay");
+		String other = service.issue("other");
+
+		assertEquals(2, service.revokeAll("srinjay"));
+
+		assertThrows(BadCredentialsException.class, () -> service.consume(first));
+		assertThrows(BadCredentialsException.class, () -> service.consume(second));
+		assertEquals("other", service.consume(other));
+		assertTrue(table.isEmpty());
+	}
+
+	private int removeIf(Predicate<RefreshToken> condition) {
+		int before = table.size();
+		table.values().removeIf(condition);
+		return before - table.size();
+	}
+}
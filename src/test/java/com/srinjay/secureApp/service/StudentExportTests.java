@@ -0,0 +1,172 @@
+package com.srinjay.secureApp.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.srinjay.secureApp.model.Student;
+import com.srinjay.secureApp.repo.InMemoryStudentStore;
+import com.srinjay.secureApp.repo.StudentStore;
+
+class StudentExportTests {
+
+	private static final int ROWS = 3_000_000;
+
+	@Test
+	void exportsNdjsonAndCsv() throws Exception {
+		InMemoryStudentStore store = new InMemoryStudentStore();
+		store.save(new Student(3, "Doe, \"JJ\"", 55));
+		StudentService service = service(store, 2);
+
+		ByteArrayOutputStream ndjson = new ByteArrayOutputStream();
+		assertEquals(3, service.export(StudentService.EXPORT_NDJSON, ndjson));
+		assertEquals("{\"id\":1,\"name\":\"Srinjay\",\"marks\":30}\n"
+				+ "{\"id\":2,\"name\":\"Moumita\",\"marks\":40}\n"
+				+ "{\"id\":3,\"name\":\"Doe, \\\"JJ\\\"\",\"marks\":55}\n", ndjson.toString(StandardCharsets.UTF_8));
+
+		ByteArrayOutputStream csv = new ByteArrayOutputStream();
+		service.export(StudentService.EXPORT_CSV, csv);
+		assertEquals("id,name,marks\n1,Srinjay,30\n2,Moumita,40\n3,\"Doe, \"\"JJ\"\"\",55\n",
+				csv.toString(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Exports a few million rows in a separate JVM limited to a 32 MB heap.
+	 * The full NDJSON output is well over 100 MB, so this only passes if rows are streamed.
+	 */
+	@Test
+	void exportsMillionsOfRowsUnderSmallHeap() throws Exception {
+		String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+		Process process = new ProcessBuilder(java, "-Xmx32m", "-cp", System.getProperty("java.class.path"),
+				SmallHeapExport.class.getName(), String.valueOf(ROWS))
+				.redirectErrorStream(true)
+				.start();
+		String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8).trim();
+		process.waitFor(120, TimeUnit.SECONDS);
+
+		assertEquals(0, process.exitValue(), output);
+		assertEquals(String.valueOf(ROWS), output.substring(output.lastIndexOf('\n') + 1));
+	}
+
+	private static StudentService service(StudentStore store, int batchSize) {
+		StudentService service = new StudentService();
+		ReflectionTestUtils.setField(service, "store", store);
+		ReflectionTestUtils.setField(service, "objectMapper", new ObjectMapper());
+		ReflectionTestUtils.setField(service, "exportBatchSize", batchSize);
+		return service;
+	}
+
+	/**
+	 * Entry point of the small-heap JVM: exports generated rows to a byte counter and prints the line count.
+	 */
+	public static class SmallHeapExport {
+
+		public static void main(String[] args) throws IOException {
+			int rows = Integer.parseInt(args[0]);
+			CountingOutputStream out = new CountingOutputStream();
+			long written = service(new GeneratedStudentStore(rows), 1000).export(StudentService.EXPORT_NDJSON, out);
+			if (written != rows || out.lines != rows) {
+				throw new IllegalStateException("wrote " + written + " rows, " + out.lines + " lines");
+			}
+			System.out.println(out.lines);
+		}
+	}
+
+	/**
+	 * Read-only store that generates students on demand instead of holding them.
+	 */
+	private static class GeneratedStudentStore implements StudentStore {
+
+		private final int size;
+
+		GeneratedStudentStore(int size) {
+			this.size = size;
+		}
+
+		@Override
+		public List<Student> findPageOrderById(Integer afterId, int minMarks, int maxMarks, int limit) {
+			int from = afterId == null ? 1 : afterId + 1;
+			List<Student> page = new ArrayList<>(limit);
+			for (int id = from; id <= size && page.size() < limit; id++) {
+				page.add(new Student(id, "student-" + id, id % 101));
+			}
+			return page;
+		}
+
+		@Override
+		public Student save(Student student) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public List<Student> saveAll(List<Student> students) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public Optional<Student> findById(int id) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public List<Student> findAll() {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public List<Student> findByMarksBetween(int min, int max) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public List<Student> findPageOrderByMarks(Integer afterMarks, Integer afterId, int minMarks, int maxMarks, int limit) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public long count() {
+			return size;
+		}
+
+		@Override
+		public long version() {
+			return 0;
+		}
+	}
+
+	private static class CountingOutputStream extends OutputStream {
+
+		long bytes;
+		long lines;
+
+		@Override
+		public void write(int b) {
+			bytes++;
+			if (b == '\n') {
+				lines++;
+			}
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) {
+			bytes += len;
+			for (int i = off; i < off + len; i++) {
+				if (b[i] == '\n') {
+					lines++;
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,65 @@
+package com.srinjay.secureApp.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.srinjay.secureApp.model.ImportReport;
+import com.srinjay.secureApp.repo.InMemoryStudentStore;
+
+class StudentImportTests {
+
+	private final InMemoryStudentStore store = new InMemoryStudentStore();
+	private final StudentService service = new StudentService();
+
+	StudentImportTests() {
+		ReflectionTestUtils.setField(service, "store", store);
+		ReflectionTestUtils.setField(service, "objectMapper", new ObjectMapper());
+		ReflectionTestUtils.setField(service, "nameIndex", new StudentNameIndex());
+		ReflectionTestUtils.setField(service, "stats", new StudentStats());
+		ReflectionTestUtils.setField(service, "importBatchSize", 2);
+	}
+
+	@Test
+	void importsNdjsonAndReportsBadRows() throws Exception {
+		String body = "{\"id\":10,\"name\":\"Asha\",\"marks\":70}\n"
+				+ "{\"id\":11,\"name\":\"\",\"marks\":70}\n"
+				+ "not json\n"
+				+ "\n"
+				+ "{\"id\":12,\"name\":\"Ravi\",\"marks\":101}\n"
+				+ "{\"id\":13,\"name\":\"Mira\",\"marks\":88}\n"
+				+ "{\"id\":1,\"name\":\"Srinjay\",\"marks\":95}\n";
+
+		ImportReport report = service.importStudents(StudentService.EXPORT_NDJSON, stream(body));
+
+		assertEquals(3, report.getAccepted());
+		assertEquals(3, report.getRejected());
+		assertEquals(2, report.getErrors().get(0).getLine());
+		assertEquals(3, report.getErrors().get(1).getLine());
+		assertEquals(5, report.getErrors().get(2).getLine());
+		assertEquals(95, store.findById(1).orElseThrow().getMarks()); // existing id replaced
+		assertEquals(4, store.count()); // 2 seeded + 2 new
+	}
+
+	@Test
+	void importsCsvWithHeaderAndQuotedNames() throws Exception {
+		String body = "id,name,marks\n20,\"Doe, \"\"JJ\"\"\",55\n21,Kim,abc\n22,Lee\n";
+
+		ImportReport report = service.importStudents(StudentService.EXPORT_CSV, stream(body));
+
+		assertEquals(1, report.getAccepted());
+		assertEquals(2, report.getRejected());
+		assertEquals("Doe, \"JJ\"", store.findById(20).orElseThrow().getName());
+		assertTrue(store.findById(21).isEmpty());
+	}
+
+	private static ByteArrayInputStream stream(String body) {
+		return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+	}
+}
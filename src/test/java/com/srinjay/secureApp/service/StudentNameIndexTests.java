@@ -0,0 +1,80 @@
+package com.srinjay.secureApp.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.srinjay.secureApp.model.Student;
+
+class StudentNameIndexTests {
+
+	private final StudentNameIndex index = new StudentNameIndex();
+
+	@Test
+	void findsPrefixesOfAnyWordBeforeSubstrings() {
+		index.put(new Student(1, "Srinjay Sen", 30));
+		index.put(new Student(2, "Moumita Das", 40));
+		index.put(new Student(3, "Ansen Roy", 50));
+
+		assertEquals(List.of(1), ids(index.search("SRIN", 10)));
+		assertEquals(List.of(2), ids(index.search("da", 10)));
+		// "sen": prefix of Srinjay's last name first, then Ansen by substring
+		assertEquals(List.of(1, 3), ids(index.search("sen", 10)));
+		assertEquals(List.of(1), ids(index.search("sen", 1)));
+		assertTrue(index.search("xyz", 10).isEmpty());
+	}
+
+	@Test
+	void renamingReplacesOldEntries() {
+		index.put(new Student(1, "Srinjay", 30));
+		index.put(new Student(1, "Rohan", 30));
+
+		assertTrue(index.search("srin", 10).isEmpty());
+		assertTrue(index.search("inja", 10).isEmpty());
+		assertEquals(List.of(1), ids(index.search("oha", 10)));
+		assertEquals(1, index.size());
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void renamingDropsEmptyPostings() {
+		index.put(new Student(1, "Srinjay", 30));
+		index.put(new Student(2, "Anjali", 40)); // shares "anj" with Srinjay
+		index.put(new Student(1, "Rohan", 30));
+
+		Map<String, ?> trigrams = (Map<String, ?>) ReflectionTestUtils.getField(index, "trigrams");
+		Map<String, ?> prefixes = (Map<String, ?>) ReflectionTestUtils.getField(index, "prefixes");
+		// rohan: roh, oha, han; anjali: anj, nja, jal, ali
+		assertEquals(Set.of("roh", "oha", "han", "anj", "nja", "jal", "ali"), trigrams.keySet());
+		assertEquals(2, prefixes.size());
+		assertEquals(List.of(2), ids(index.search("anj", 10)));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void longNamesAreFoundByLongPrefixes() {
+		String longName = "Bartholomew-Alexander-Maximilian Montgomery-Featherstonehaugh";
+		index.put(new Student(1, longName, 30));
+		index.put(new Student(2, "Bartholomew-Alexander-Maximilian Smith", 40)); // same first 32 characters
+
+		assertEquals(List.of(1, 2), ids(index.search("bartholomew", 10)));
+		assertEquals(List.of(1), ids(index.search("bartholomew-alexander-maximilian montgomery", 10)));
+		assertEquals(List.of(1), ids(index.search("montgomery-featherstonehaugh", 10)));
+		assertEquals(List.of(2), ids(index.search("bartholomew-alexander-maximilian s", 10)));
+		Map<String, ?> prefixes = (Map<String, ?>) ReflectionTestUtils.getField(index, "prefixes");
+		assertTrue(prefixes.keySet().stream().allMatch(key -> key.indexOf('\u0000') <= 32));
+
+		index.put(new Student(1, "Rohan", 30)); // long keys are removed as well
+		assertEquals(List.of(2), ids(index.search("bartholomew-alexander-maximilian", 10)));
+	}
+
+	private static List<Integer> ids(List<Student> students) {
+		return students.stream().map(Student::getId).toList();
+	}
+}
@@ -0,0 +1,184 @@
+package com.srinjay.secureApp.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.srinjay.secureApp.model.MarksStats;
+import com.srinjay.secureApp.model.Student;
+import com.srinjay.secureApp.model.StudentPage;
+import com.srinjay.secureApp.repo.InMemoryStudentStore;
+
+class StudentServiceTests {
+
+	private final PausingStore store = new PausingStore();
+	private final StudentNameIndex nameIndex = new StudentNameIndex();
+	private final StudentStats stats = new StudentStats();
+	private final StudentService service = new StudentService();
+	private CompletableFuture<?> pending = CompletableFuture.completedFuture(null); // write started by a hook
+
+	StudentServiceTests() {
+		ReflectionTestUtils.setField(service, "store", store);
+		ReflectionTestUtils.setField(service, "objectMapper", new ObjectMapper());
+		ReflectionTestUtils.setField(service, "nameIndex", nameIndex);
+		ReflectionTestUtils.setField(service, "stats", stats);
+		service.rebuildIndexes();
+	}
+
+	@Test
+	void writesToOneStudentReachTheIndexInStoreOrder() throws Exception {
+		// The first write pauses after the store accepted it; a second write to the same id
+		// is started meanwhile and must not overtake it in the name index
+		store.duringSave = () -> {
+			store.duringSave = null;
+			awaitBriefly(CompletableFuture.runAsync(() -> service.addStudent(new Student(7, "second", 60))));
+		};
+
+		service.addStudent(new Student(7, "first", 50));
+		awaitWrites();
+
+		assertEquals("second", store.findById(7).orElseThrow().getName());
+		assertEquals(List.of(), nameIndex.search("first", 10));
+		assertEquals(List.of("second"), nameIndex.search("second", 10).stream().map(Student::getName).toList());
+		assertEquals((30 + 40 + 60) / 3.0, stats.snapshot().getAverage(), 1e-9);
+	}
+
+	@Test
+	void rebuildDoesNotCountAConcurrentWriteTwice() throws Exception {
+		// A write arriving while the rebuild reads the store waits for the rebuild
+		store.duringRead = () -> {
+			store.duringRead = null;
+			awaitBriefly(CompletableFuture.runAsync(() -> service.addStudent(new Student(3, "Asha", 90))));
+		};
+
+		service.rebuildIndexes();
+		awaitWrites();
+
+		MarksStats snapshot = stats.snapshot();
+		assertEquals(3, snapshot.getCount());
+		assertEquals((30 + 40 + 90) / 3.0, snapshot.getAverage(), 1e-9);
+		assertEquals(List.of("Asha"), nameIndex.search("asha", 10).stream().map(Student::getName).toList());
+	}
+
+	@Test
+	void cursorPagesReturnEveryStudentOnce() {
+		for (int id = 100; id < 150; id++) {
+			service.addStudent(new Student(id, "s" + id, id % 4 * 10)); // many ties on marks
+		}
+
+		List<Student> byId = readAllPages("id", null, null, 7);
+		List<Student> byMarks = readAllPages("marks", null, null, 7);
+
+		assertEquals(store.findAll(), byId);
+		assertEquals(store.findByMarksBetween(Integer.MIN_VALUE, Integer.MAX_VALUE), byMarks);
+		assertEquals(52, byMarks.size());
+		for (int i = 1; i < byMarks.size(); i++) {
+			Student previous = byMarks.get(i - 1);
+			Student current = byMarks.get(i);
+			// equal marks are ordered by id
+			assertTrue(previous.getMarks() < current.getMarks()
+					|| (previous.getMarks() == current.getMarks() && previous.getId() < current.getId()));
+		}
+	}
+
+	@Test
+	void marksFiltersHoldOnEveryCursorPage() {
+		for (int id = 100; id < 150; id++) {
+			service.addStudent(new Student(id, "s" + id, id % 10 * 10));
+		}
+
+		List<Student> byMarks = readAllPages("marks", 20, 40, 4);
+		List<Student> byId = readAllPages("id", 20, 40, 4);
+
+		assertEquals(store.findByMarksBetween(20, 40), byMarks);
+		assertEquals(17, byMarks.size()); // 15 generated + the seeded students with 30 and 40 marks
+		assertEquals(byMarks.stream().map(Student::getId).sorted().toList(), byId.stream().map(Student::getId).toList());
+	}
+
+	@Test
+	void badCursorsAreRejectedWith400() {
+		for (int id = 100; id < 110; id++) {
+			service.addStudent(new Student(id, "s" + id, 50));
+		}
+		String idCursor = service.getPage(3, null, "id", null, null).getNextCursor();
+		String marksCursor = service.getPage(3, null, "marks", null, null).getNextCursor();
+		String notANumber = Base64.getUrlEncoder().encodeToString("id:x".getBytes(StandardCharsets.US_ASCII));
+
+		for (String[] bad : new String[][] { { "!!not base64", "id" }, { notANumber, "id" }, { idCursor, "marks" },
+				{ marksCursor, "id" }, { idCursor, "name" } }) {
+			ResponseStatusException e = assertThrows(ResponseStatusException.class,
+					() -> service.getPage(3, bad[0], bad[1], null, null));
+			assertEquals(HttpStatus.BAD_REQUEST, e.getStatusCode());
+		}
+	}
+
+	private List<Student> readAllPages(String sort, Integer minMarks, Integer maxMarks, int limit) {
+		List<Student> students = new ArrayList<>();
+		String cursor = null;
+		do {
+			StudentPage page = service.getPage(limit, cursor, sort, minMarks, maxMarks);
+			assertTrue(page.getItems().size() <= limit);
+			students.addAll(page.getItems());
+			cursor = page.getNextCursor();
+		} while (cursor != null);
+		return students;
+	}
+
+	// Give a concurrent write the chance to finish (it only can if nothing excludes it)
+	private void awaitBriefly(CompletableFuture<?> write) {
+		pending = write;
+		try {
+			write.get(200, TimeUnit.MILLISECONDS);
+		} catch (TimeoutException e) {
+			// blocked by the lock, as expected
+		} catch (Exception e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private void awaitWrites() throws Exception {
+		pending.get(5, TimeUnit.SECONDS);
+	}
+
+	/**
+	 * In-memory store that runs a hook right after a save or before a page read.
+	 */
+	private static final class PausingStore extends InMemoryStudentStore {
+
+		volatile Runnable duringSave;
+		volatile Runnable duringRead;
+
+		@Override
+		public Student save(Student student) {
+			Student previous = super.save(student);
+			Runnable hook = duringSave;
+			if (hook != null) {
+				hook.run();
+			}
+			return previous;
+		}
+
+		@Override
+		public List<Student> findPageOrderById(Integer afterId, int minMarks, int maxMarks, int limit) {
+			Runnable hook = duringRead;
+			if (hook != null) {
+				hook.run();
+			}
+			return super.findPageOrderById(afterId, minMarks, maxMarks, limit);
+		}
+	}
+}
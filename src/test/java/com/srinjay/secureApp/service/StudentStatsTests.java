@@ -0,0 +1,117 @@
+package com.srinjay.secureApp.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.srinjay.secureApp.model.MarksStats;
+import com.srinjay.secureApp.model.Student;
+
+class StudentStatsTests {
+
+	private final StudentStats stats = new StudentStats();
+
+	@Test
+	void aggregatesFollowInsertsAndReplacements() {
+		assertNull(stats.snapshot().getMin());
+
+		for (int marks = 1; marks <= 100; marks++) {
+			stats.record(null, new Student(marks, "s" + marks, marks));
+		}
+		MarksStats snapshot = stats.snapshot();
+		assertEquals(100, snapshot.getCount());
+		assertEquals(50.5, snapshot.getAverage(), 1e-9);
+		assertEquals(1, snapshot.getMin());
+		assertEquals(100, snapshot.getMax());
+		assertEquals(50, snapshot.getP50());
+		assertEquals(90, snapshot.getP90());
+		assertEquals(99, snapshot.getP99());
+		assertEquals(9L, snapshot.getHistogram().get("0-9"));
+		assertEquals(1L, snapshot.getHistogram().get("100"));
+
+		// Student 100 moves from 100 to 120 marks: count unchanged
+		stats.record(new Student(100, "s100", 100), new Student(100, "s100", 120));
+		snapshot = stats.snapshot();
+		assertEquals(100, snapshot.getCount());
+		assertEquals(50.7, snapshot.getAverage(), 1e-9);
+		assertEquals(120, snapshot.getMax());
+		assertEquals(0L, snapshot.getHistogram().get("100"));
+		assertEquals(1L, snapshot.getHistogram().get(">100"));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void outOfRangeMarksKeepExactFigures() {
+		for (int marks = 1; marks <= 1000; marks++) {
+			stats.record(null, new Student(marks, "low", -marks));
+			stats.record(null, new Student(marks, "high", 100 + marks));
+		}
+		stats.record(null, new Student(1, "mid", 50));
+
+		MarksStats snapshot = stats.snapshot();
+		assertEquals(2001, snapshot.getCount());
+		assertEquals(1000L, snapshot.getHistogram().get("<0"));
+		assertEquals(1000L, snapshot.getHistogram().get(">100"));
+		assertEquals(-1000, snapshot.getMin());
+		assertEquals(1100, snapshot.getMax());
+		assertEquals(50, snapshot.getP50());
+		assertEquals(900, snapshot.getP90());
+		assertEquals(1080, snapshot.getP99());
+		assertEquals((100.0 * 1000 + 50) / 2001, snapshot.getAverage(), 1e-9);
+
+		// Values whose last student is gone are forgotten
+		for (int marks = 1; marks <= 1000; marks++) {
+			stats.record(new Student(marks, "low", -marks), new Student(marks, "low", 40));
+			stats.record(new Student(marks, "high", 100 + marks), null);
+		}
+		snapshot = stats.snapshot();
+		assertEquals(40, snapshot.getMin());
+		assertEquals(50, snapshot.getMax());
+		assertEquals(0L, snapshot.getHistogram().get("<0"));
+		assertTrue(((Map<Integer, Long>) ReflectionTestUtils.getField(stats, "outliers")).isEmpty());
+	}
+
+	@Test
+	void concurrentReplacementsKeepCountAndSumConsistent() throws Exception {
+		int threads = 8;
+		int students = 1000;
+		for (int id = 0; id < students; id++) {
+			stats.record(null, new Student(id, "s", 50));
+		}
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int t = 0; t < threads; t++) {
+				futures.add(pool.submit(() -> {
+					for (int i = 0; i < 10_000; i++) {
+						// Move a student away from 50 and back: every snapshot must still see 1000 students
+						stats.record(new Student(1, "s", 50), new Student(1, "s", 80));
+						stats.record(new Student(1, "s", 80), new Student(1, "s", 50));
+					}
+				}));
+			}
+			for (int i = 0; i < 1000; i++) {
+				MarksStats snapshot = stats.snapshot();
+				assertEquals(students, snapshot.getCount());
+				assertEquals(snapshot.getCount(), snapshot.getHistogram().values().stream().mapToLong(Long::longValue).sum());
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} finally {
+			pool.shutdownNow();
+		}
+		assertEquals(50.0, stats.snapshot().getAverage(), 1e-9);
+	}
+
+}
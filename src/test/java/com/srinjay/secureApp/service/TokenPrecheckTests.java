@@ -0,0 +1,63 @@
+package com.srinjay.secureApp.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import org.junit.jupiter.api.Test;
+
+import com.srinjay.secureApp.model.UserPrincipal;
+import com.srinjay.secureApp.model.Users;
+
+class TokenPrecheckTests {
+
+	private static final long NOW = 1_700_000_000_000L;
+
+	@Test
+	void issuedTokensPass() {
+		Users user = new Users();
+		user.setUsername("srinjay");
+		String token = new JWTService().generateToken(new UserPrincipal(user));
+
+		assertNull(TokenPrecheck.check(token, 8192, System.currentTimeMillis()));
+	}
+
+	@Test
+	void structureIsChecked() {
+		assertEquals(AuthMetrics.MALFORMED, TokenPrecheck.check("", 8192, NOW));
+		assertEquals(AuthMetrics.MALFORMED, TokenPrecheck.check("not-a-token", 8192, NOW));
+		assertEquals(AuthMetrics.MALFORMED, TokenPrecheck.check("a.b", 8192, NOW));
+		assertEquals(AuthMetrics.MALFORMED, TokenPrecheck.check("a.b.c.d", 8192, NOW));
+		assertEquals(AuthMetrics.MALFORMED, TokenPrecheck.check(token("{}") + "=", 8192, NOW));
+		assertEquals(AuthMetrics.MALFORMED, TokenPrecheck.check("eyJ..sig", 8192, NOW));
+		assertEquals(AuthMetrics.MALFORMED, TokenPrecheck.check(token("{}").replace(".sig", "."), 8192, NOW));
+		assertEquals(AuthMetrics.MALFORMED, TokenPrecheck.check(token("[1]"), 8192, NOW));
+		assertEquals(AuthMetrics.MALFORMED, TokenPrecheck.check(token("{\"sub\":\"x}"), 8192, NOW));
+		assertEquals(AuthMetrics.MALFORMED, TokenPrecheck.check(token("{}"), 10, NOW));
+	}
+
+	@Test
+	void topLevelExpiryIsChecked() {
+		long past = NOW / 1000 - 1;
+		long future = NOW / 1000 + 60;
+
+		assertEquals(AuthMetrics.EXPIRED, TokenPrecheck.check(token("{\"sub\":\"a\",\"exp\":" + past + "}"), 8192, NOW));
+		assertEquals(AuthMetrics.EXPIRED, TokenPrecheck.check(token("{ \"exp\" : " + past + " }"), 8192, NOW));
+		assertNull(TokenPrecheck.check(token("{\"exp\":" + future + "}"), 8192, NOW));
+		assertNull(TokenPrecheck.check(token("{\"sub\":\"a\"}"), 8192, NOW));
+		// Not the top-level claim, or not a plain number: left to jjwt
+		assertNull(TokenPrecheck.check(token("{\"x\":{\"exp\":1},\"exp\":" + future + "}"), 8192, NOW));
+		assertNull(TokenPrecheck.check(token("{\"sub\":\"exp\",\"n\":[\"exp\"]}"), 8192, NOW));
+		assertNull(TokenPrecheck.check(token("{\"sub\":\"\\\"exp\\\":1\"}"), 8192, NOW));
+		assertNull(TokenPrecheck.check(token("{\"exp\":1.5}"), 8192, NOW));
+		assertNull(TokenPrecheck.check(token("{\"exp\":\"1\"}"), 8192, NOW));
+	}
+
+	private static String token(String payload) {
+		Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+		return encoder.encodeToString("{\"alg\":\"HS256\"}".getBytes(StandardCharsets.UTF_8)) + "."
+				+ encoder.encodeToString(payload.getBytes(StandardCharsets.UTF_8)) + ".sig";
+	}
+}
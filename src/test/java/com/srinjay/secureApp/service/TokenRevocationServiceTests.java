@@ -0,0 +1,137 @@
+package com.srinjay.secureApp.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.srinjay.secureApp.model.VerifiedToken;
+
+class TokenRevocationServiceTests {
+
+	@TempDir
+	Path dir;
+
+	@Test
+	void revocationsSurviveARestart() {
+		String file = dir.resolve("revocations").toString();
+		TokenRevocationService revocations = service(file, 100);
+		revocations.revoke(token("a", "srinjay", 60_000));
+		revocations.revokeTokenId("b");
+
+		TokenRevocationService restarted = service(file, 100);
+
+		assertTrue(restarted.isRevoked(token("a", "srinjay", 60_000)));
+		assertTrue(restarted.isRevoked(token("b", "srinjay", 60_000)));
+		assertFalse(restarted.isRevoked(token("c", "srinjay", 60_000)));
+	}
+
+	@Test
+	void eachRevocationAppendsOneLine() throws Exception {
+		Path file = dir.resolve("revocations");
+		TokenRevocationService revocations = service(file.toString(), 100);
+
+		for (int i = 0; i < 10; i++) {
+			revocations.revoke(token("jti-" + i, "srinjay", 60_000));
+			assertEquals(i + 1, Files.readAllLines(file).size());
+		}
+	}
+
+	@Test
+	void purgeCompactsTheFile() throws Exception {
+		Path file = dir.resolve("revocations");
+		TokenRevocationService revocations = service(file.toString(), 100);
+		revocations.revoke(token("expired", "srinjay", -1000));
+		revocations.revoke(token("live", "srinjay", 60_000));
+
+		revocations.purgeExpired();
+
+		List<String> lines = Files.readAllLines(file);
+		assertEquals(1, lines.size());
+		assertTrue(lines.get(0).startsWith("jti\tlive\t"));
+		assertEquals(1, revocations.revokedTokenCount());
+		revocations.revokeTokenId("after-compaction"); // appends go to the new file
+		assertEquals(2, Files.readAllLines(file).size());
+	}
+
+	@Test
+	void tornLastLineIsSkipped() throws Exception {
+		Path file = dir.resolve("revocations");
+		Files.writeString(file, "jti\tkept\t" + (System.currentTimeMillis() + 60_000) + "\njti\ttorn\t17x");
+
+		TokenRevocationService revocations = service(file.toString(), 100);
+
+		assertTrue(revocations.isRevoked(token("kept", "srinjay", 60_000)));
+		assertEquals(1, revocations.revokedTokenCount());
+	}
+
+	@Test
+	void entriesAreKeptNoLongerThanATokenLifetime() throws Exception {
+		Path file = dir.resolve("revocations");
+		TokenRevocationService revocations = service(file.toString(), 100);
+
+		revocations.revoke(token("forever", "srinjay", Duration.ofDays(365).toMillis()));
+
+		assertTrue(revocations.isRevoked(token("forever", "srinjay", 0)));
+		long kept = Long.parseLong(Files.readAllLines(file).get(0).split("\t")[2]);
+		assertTrue(kept <= System.currentTimeMillis() + JWTService.ACCESS_TOKEN_TTL_MILLIS);
+	}
+
+	@Test
+	void fullListRefusesNewTokensUntilEntriesExpire() {
+		TokenRevocationService revocations = service(null, 2);
+		revocations.revoke(token("a", "srinjay", 60_000));
+		revocations.revoke(token("b", "srinjay", 60_000));
+
+		ResponseStatusException e = assertThrows(ResponseStatusException.class,
+				() -> revocations.revoke(token("c", "srinjay", 60_000)));
+
+		assertEquals(HttpStatus.SERVICE_UNAVAILABLE, e.getStatusCode());
+		assertTrue(revocations.isRevoked(token("a", "srinjay", 60_000)));
+		assertTrue(revocations.isRevoked(token("b", "srinjay", 60_000)));
+		revocations.revoke(token("a", "srinjay", 60_000)); // already listed: accepted
+	}
+
+	@Test
+	void expiredEntriesMakeRoomWhenFull() {
+		TokenRevocationService revocations = service(null, 2);
+		revocations.revoke(token("expired", "srinjay", -1000));
+		revocations.revoke(token("a", "srinjay", 60_000));
+
+		revocations.revoke(token("b", "srinjay", 60_000));
+
+		assertEquals(2, revocations.revokedTokenCount());
+		assertTrue(revocations.isRevoked(token("b", "srinjay", 60_000)));
+	}
+
+	@Test
+	void userRevocationsSurviveARestart() {
+		String file = dir.resolve("revocations").toString();
+		service(file, 100).revokeUser("srinjay");
+
+		TokenRevocationService restarted = service(file, 100);
+
+		assertTrue(restarted.isRevoked(new VerifiedToken("x", "srinjay", new Date(System.currentTimeMillis() - 5000),
+				new Date(System.currentTimeMillis() + 60_000), List.of())));
+	}
+
+	private static TokenRevocationService service(String file, int maxSize) {
+		return new TokenRevocationService(new UserTokenDenylist(Duration.ofMinutes(10), 1000), file, maxSize);
+	}
+
+	private static VerifiedToken token(String id, String subject, long expiresInMillis) {
+		long now = System.currentTimeMillis();
+		return new VerifiedToken(id, subject, new Date(now), new Date(now + expiresInMillis), List.of());
+	}
+}
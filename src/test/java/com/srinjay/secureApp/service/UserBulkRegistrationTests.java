@@ -0,0 +1,107 @@
+package com.srinjay.secureApp.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.srinjay.secureApp.model.ImportReport;
+import com.srinjay.secureApp.model.Users;
+import com.srinjay.secureApp.repo.UserRepo;
+
+class UserBulkRegistrationTests {
+
+	private final UserRepo repo = mock(UserRepo.class);
+	private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+	private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+	private final MyUserDetailsService userDetailsService = mock(MyUserDetailsService.class);
+	private final PasswordHashingExecutor hashingExecutor = new PasswordHashingExecutor(2, 4);
+	private final UserService service = new UserService();
+
+	UserBulkRegistrationTests() {
+		ReflectionTestUtils.setField(service, "repo", repo);
+		ReflectionTestUtils.setField(service, "jdbcTemplate", jdbcTemplate);
+		ReflectionTestUtils.setField(service, "transactionTemplate", new TransactionTemplate(transactionManager));
+		ReflectionTestUtils.setField(service, "userDetailsService", userDetailsService);
+		ReflectionTestUtils.setField(service, "hashingExecutor", hashingExecutor);
+		ReflectionTestUtils.setField(service, "encoder", new BCryptPasswordEncoder(4));
+		ReflectionTestUtils.setField(service, "bulkBatchSize", 3);
+		ReflectionTestUtils.setField(service, "bulkMaxRecords", 100);
+	}
+
+	@AfterEach
+	void shutdown() {
+		hashingExecutor.shutdown();
+	}
+
+	@Test
+	void hashesValidUsersAndReportsRejectedOnes() {
+		when(repo.findExistingUsernames(anyCollection())).thenReturn(List.of("taken"));
+		List<Users> users = List.of(user("a", "pw"), user("", "pw"), user("b", null), user("a", "pw"),
+				user("taken", "pw"), user("c", "pw"), user("d", "pw"), user("e", "pw"));
+
+		ImportReport report = service.registerAll(users);
+
+		assertEquals(4, report.getAccepted());
+		assertEquals(4, report.getRejected());
+		assertEquals(List.of(2L, 3L, 4L, 5L), report.getErrors().stream().map(ImportReport.RowError::getLine).toList());
+		assertTrue(new BCryptPasswordEncoder().matches("pw", users.get(0).getPassword()));
+		verify(jdbcTemplate, times(2)).batchUpdate(anyString(), anyList(), anyInt(), anySetter()); // a, c, d then e
+		verify(repo, never()).save(any(Users.class));
+		verify(userDetailsService).onUserSaved("e");
+	}
+
+	@Test
+	void failedBatchIsRetriedUserByUser() {
+		when(jdbcTemplate.batchUpdate(anyString(), anyList(), anyInt(), anySetter()))
+				.thenThrow(new DataIntegrityViolationException("duplicate"));
+		when(repo.save(any(Users.class))).thenAnswer(invocation -> {
+			Users user = invocation.getArgument(0);
+			if (user.getUsername().equals("b")) {
+				throw new DataIntegrityViolationException("duplicate key b");
+			}
+			return user;
+		});
+		List<Users> users = new ArrayList<>(List.of(user("a", "pw"), user("b", "pw"), user("c", "pw")));
+
+		ImportReport report = service.registerAll(users);
+
+		assertEquals(2, report.getAccepted());
+		assertEquals(2L, report.getErrors().get(0).getLine());
+		assertEquals("username already exists", report.getErrors().get(0).getMessage());
+		verify(userDetailsService, never()).onUserSaved("b");
+		verify(transactionManager).rollback(any()); // nothing from the failed batch is kept
+	}
+
+	private static ParameterizedPreparedStatementSetter<Users> anySetter() {
+		return any();
+	}
+
+	private static Users user(String username, String password) {
+		Users user = new Users();
+		user.setUsername(username);
+		user.setPassword(password);
+		return user;
+	}
+}
@@ -0,0 +1,99 @@
+package com.srinjay.secureApp.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.srinjay.secureApp.model.Users;
+import com.srinjay.secureApp.model.VerifiedToken;
+import com.srinjay.secureApp.repo.UserRepo;
+
+class UserRegistrationTests {
+
+	private final UserRepo repo = mock(UserRepo.class);
+	private final MyUserDetailsService userDetailsService = mock(MyUserDetailsService.class);
+	private final RefreshTokenService refreshTokenService = mock(RefreshTokenService.class);
+	private final UserTokenDenylist denylist = new UserTokenDenylist(Duration.ofMinutes(10), 1000);
+	private final UserService service = new UserService();
+
+	UserRegistrationTests() {
+		ReflectionTestUtils.setField(service, "repo", repo);
+		ReflectionTestUtils.setField(service, "userDetailsService", userDetailsService);
+		ReflectionTestUtils.setField(service, "refreshTokenService", refreshTokenService);
+		ReflectionTestUtils.setField(service, "tokenRevocations", new TokenRevocationService(denylist, null, 1000));
+		ReflectionTestUtils.setField(service, "encoder", new BCryptPasswordEncoder(4));
+		when(repo.save(any(Users.class))).thenAnswer(invocation -> invocation.getArgument(0));
+	}
+
+	@Test
+	void existingUsernameIsRejectedWithoutTouchingTheAccountOrItsTokens() {
+		when(repo.findByUsername("srinjay")).thenReturn(user("srinjay", "{bcrypt}stored"));
+		VerifiedToken live = token("srinjay", System.currentTimeMillis() - 5000);
+
+		ResponseStatusException e = assertThrows(ResponseStatusException.class,
+				() -> service.register(user("srinjay", "attacker")));
+
+		assertEquals(HttpStatus.CONFLICT, e.getStatusCode());
+		verify(repo, never()).save(any(Users.class));
+		assertFalse(denylist.isRevoked(live));
+		assertEquals(0, denylist.size());
+	}
+
+	@Test
+	void concurrentRegistrationOfTheSameNameIsAConflict() {
+		when(repo.save(any(Users.class))).thenThrow(new DataIntegrityViolationException("uk_users_username"));
+
+		ResponseStatusException e = assertThrows(ResponseStatusException.class,
+				() -> service.register(user("srinjay", "pw")));
+
+		assertEquals(HttpStatus.CONFLICT, e.getStatusCode());
+		verify(userDetailsService, never()).onUserSaved("srinjay");
+	}
+
+	@Test
+	void newUserIsSavedWithoutADenylistEntry() {
+		Users saved = service.register(user("newcomer", "pw"));
+
+		assertTrue(new BCryptPasswordEncoder().matches("pw", saved.getPassword()));
+		verify(userDetailsService).onUserSaved("newcomer");
+		assertEquals(0, denylist.size());
+	}
+
+	@Test
+	void revokingAUserRejectsItsExistingTokens() {
+		VerifiedToken live = token("srinjay", System.currentTimeMillis() - 5000);
+
+		service.revokeUser("srinjay");
+
+		assertTrue(denylist.isRevoked(live));
+		verify(refreshTokenService).revokeAll("srinjay");
+	}
+
+	private static Users user(String username, String password) {
+		Users user = new Users();
+		user.setUsername(username);
+		user.setPassword(password);
+		return user;
+	}
+
+	private static VerifiedToken token(String subject, long issuedAt) {
+		return new VerifiedToken("id", subject, new Date(issuedAt), new Date(issuedAt + 60_000), List.of());
+	}
+}
@@ -0,0 +1,77 @@
+package com.srinjay.secureApp.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.srinjay.secureApp.model.VerifiedToken;
+
+class UserTokenDenylistTests {
+
+	@Test
+	void revocationsAreNeverEvictedByLaterOnes() {
+		UserTokenDenylist denylist = new UserTokenDenylist(Duration.ofMinutes(10), 1000);
+		long now = System.currentTimeMillis();
+		denylist.revokeAllBefore("first", now);
+
+		for (int i = 0; i < 999; i++) {
+			denylist.revokeAllBefore("user" + i, now);
+		}
+
+		assertTrue(denylist.isRevoked(token("first", now - 5000)));
+		assertFalse(denylist.isRevoked(token("first", now + 5000)));
+	}
+
+	@Test
+	void fullListRefusesNewUsersInsteadOfEvicting() {
+		UserTokenDenylist denylist = new UserTokenDenylist(Duration.ofMinutes(10), 2);
+		long now = System.currentTimeMillis();
+		denylist.revokeAllBefore("a", now);
+		denylist.revokeAllBefore("b", now);
+
+		ResponseStatusException e = assertThrows(ResponseStatusException.class,
+				() -> denylist.revokeAllBefore("c", now));
+
+		assertEquals(HttpStatus.SERVICE_UNAVAILABLE, e.getStatusCode());
+		assertEquals(2, denylist.size());
+		assertTrue(denylist.isRevoked(token("a", now - 5000)));
+		assertTrue(denylist.isRevoked(token("b", now - 5000)));
+		// A user already listed can still have the cut-off moved forward
+		denylist.revokeAllBefore("a", now + 10_000);
+		assertTrue(denylist.isRevoked(token("a", now + 5000)));
+	}
+
+	@Test
+	void tokensFromTheCutOffSecondAreRevoked() {
+		UserTokenDenylist denylist = new UserTokenDenylist(Duration.ofMinutes(10), 1000);
+		denylist.revokeAllBefore("srinjay", 1_700_000_000_500L);
+
+		// "iat" has whole seconds: issued earlier (or later) in the same second as the revocation
+		assertTrue(denylist.isRevoked(token("srinjay", 1_700_000_000_000L)));
+		assertFalse(denylist.isRevoked(token("srinjay", 1_700_000_001_000L)));
+	}
+
+	@Test
+	void tokenIssuedJustBeforeTheRevocationIsRevoked() {
+		UserTokenDenylist denylist = new UserTokenDenylist(Duration.ofMinutes(10), 1000);
+		JWTService jwtService = new JWTService(JwtKeyRing.ephemeral());
+		VerifiedToken issued = jwtService.verify(jwtService.generateToken("srinjay"));
+
+		denylist.revokeAll("srinjay");
+
+		assertTrue(denylist.isRevoked(issued));
+	}
+
+	private static VerifiedToken token(String subject, long issuedAt) {
+		return new VerifiedToken("id", subject, new Date(issuedAt), new Date(issuedAt + 60_000), List.of());
+	}
+}
@@ -0,0 +1,139 @@
+package com.srinjay.secureApp.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.srinjay.secureApp.model.Users;
+import com.srinjay.secureApp.repo.UserRepo;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class UsernameFilterTests {
+
+	private final UserRepo repo = mock(UserRepo.class);
+
+	@Test
+	void everyNameIsAMaybeUntilTheFilterIsBuilt() {
+		UsernameFilter filter = filter(true, 1000);
+
+		assertFalse(filter.isReady());
+		assertTrue(filter.mightExist("anyone"));
+	}
+
+	@Test
+	void builtFilterRejectsUnknownUsernames() {
+		when(repo.streamAllUsernames()).thenReturn(Stream.of("alice", "bob"));
+		UsernameFilter filter = filter(true, 1000);
+
+		filter.build();
+
+		assertTrue(filter.isReady());
+		assertTrue(filter.mightExist("alice"));
+		assertTrue(filter.mightExist("bob"));
+		assertFalse(filter.mightExist("mallory"));
+		assertEquals(1, filter.getRejectedCount());
+	}
+
+	@Test
+	void falsePositivesStayNearTheConfiguredRate() {
+		when(repo.streamAllUsernames()).thenReturn(IntStream.range(0, 1000).mapToObj(i -> "user" + i));
+		UsernameFilter filter = filter(true, 1000);
+		filter.build();
+
+		long falsePositives = IntStream.range(0, 10_000).filter(i -> filter.mightExist("stranger" + i)).count();
+
+		assertTrue(falsePositives < 300, "false positives: " + falsePositives); // 1% expected
+	}
+
+	@Test
+	void userRegisteredDuringTheBuildIsFound() {
+		UsernameFilter filter = filter(true, 1000);
+		// A registration commits while the existing usernames are still being read
+		when(repo.streamAllUsernames()).thenReturn(Stream.of("alice").onClose(() -> filter.add("newcomer")));
+
+		filter.build();
+
+		assertTrue(filter.mightExist("newcomer"));
+	}
+
+	@Test
+	void userRegisteredAfterTheBuildIsFound() {
+		when(repo.streamAllUsernames()).thenReturn(Stream.of("alice"));
+		UsernameFilter filter = filter(true, 1000);
+		filter.build();
+		MyUserDetailsService users = userDetailsService(filter);
+
+		assertNull(users.findUser("newcomer"));
+		verify(repo, never()).findByUsername("newcomer"); // answered by the filter
+
+		Users saved = new Users();
+		saved.setUsername("newcomer");
+		saved.setPassword("hash");
+		when(repo.findByUsername("newcomer")).thenReturn(saved);
+		users.onUserSaved("newcomer"); // what UserService.register does after saving
+
+		assertNotNull(users.findUser("newcomer"));
+	}
+
+	@Test
+	void disabledFilterLetsEveryNameThrough() {
+		UsernameFilter filter = filter(false, 1000);
+
+		filter.build();
+		filter.add("alice");
+
+		assertFalse(filter.isReady());
+		assertTrue(filter.mightExist("alice"));
+		assertTrue(filter.mightExist("mallory"));
+		assertEquals(0, filter.getRejectedCount());
+		verifyNoInteractions(repo);
+	}
+
+	@Test
+	void filterStaysInactiveWhenUsersCannotBeLoaded() {
+		when(repo.streamAllUsernames()).thenThrow(new DataAccessResourceFailureException("database down"));
+		UsernameFilter filter = filter(true, 1000);
+
+		filter.build();
+
+		assertFalse(filter.isReady());
+		assertTrue(filter.mightExist("mallory"));
+	}
+
+	private UsernameFilter filter(boolean enabled, long expectedUsers) {
+		UsernameFilter filter = new UsernameFilter(enabled, expectedUsers, 0.01);
+		ReflectionTestUtils.setField(filter, "repo", repo);
+		ReflectionTestUtils.setField(filter, "transactionTemplate",
+				new TransactionTemplate(mock(PlatformTransactionManager.class)));
+		return filter;
+	}
+
+	private MyUserDetailsService userDetailsService(UsernameFilter filter) {
+		MyUserDetailsService service = new MyUserDetailsService(100, Duration.ofMinutes(5), 100, Duration.ofMinutes(5), Set.of());
+		ReflectionTestUtils.setField(service, "repo", repo);
+		ReflectionTestUtils.setField(service, "loginThrottle", new LoginThrottle(5, Duration.ofSeconds(10),
+				20, Duration.ofSeconds(1), 5, Duration.ofMinutes(15), 1000));
+		ReflectionTestUtils.setField(service, "usernameFilter", filter);
+		ReflectionTestUtils.setField(service, "metrics", new AuthMetrics(new SimpleMeterRegistry()));
+		return service;
+	}
+}
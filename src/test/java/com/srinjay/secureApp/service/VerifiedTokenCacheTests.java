@@ -0,0 +1,79 @@
+package com.srinjay.secureApp.service;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Date;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.srinjay.secureApp.model.VerifiedToken;
+
+class VerifiedTokenCacheTests {
+
+	@Test
+	void entryLivesUntilTheTokenExpiresAndNoLonger() throws Exception {
+		VerifiedTokenCache cache = new VerifiedTokenCache(true, 100, 1 << 20);
+		long expiresAt = System.currentTimeMillis() + 300;
+		VerifiedToken verified = token("srinjay", expiresAt, List.of());
+		cache.put("token", verified);
+
+		assertSame(verified, cache.getIfPresent("token"));
+
+		Thread.sleep(Math.max(0, expiresAt - System.currentTimeMillis()) + 50);
+		assertNull(cache.getIfPresent("token"));
+	}
+
+	@Test
+	void alreadyExpiredAndNonExpiringTokensAreNotServed() {
+		VerifiedTokenCache cache = new VerifiedTokenCache(true, 100, 1 << 20);
+
+		cache.put("expired", token("srinjay", System.currentTimeMillis() - 1000, List.of()));
+		cache.put("forever", new VerifiedToken("id", "srinjay", new Date(), null, List.of()));
+
+		assertNull(cache.getIfPresent("expired"));
+		assertNull(cache.getIfPresent("forever"));
+	}
+
+	@Test
+	void entryCountIsBounded() throws Exception {
+		VerifiedTokenCache cache = new VerifiedTokenCache(true, 10, 1 << 20);
+
+		for (int i = 0; i < 100; i++) {
+			cache.put("token-" + i, token("user-" + i, System.currentTimeMillis() + 60_000, List.of()));
+		}
+
+		awaitSizeAtMost(cache, 10);
+		assertTrue(cache.stats().evictionCount() >= 90);
+	}
+
+	@Test
+	void estimatedMemoryIsBounded() throws Exception {
+		// Each token weighs about 540 bytes (4 authorities), so 2700 bytes hold 5 of them,
+		// far below the entry limit
+		VerifiedTokenCache cache = new VerifiedTokenCache(true, 1000, 2700);
+		List<String> authorities = List.of("ROLE_ADMIN", "ROLE_USERS", "ROLE_AUDIT", "ROLE_SALES");
+
+		for (int i = 0; i < 100; i++) {
+			cache.put("token-" + i, token("user-" + i, System.currentTimeMillis() + 60_000, authorities));
+		}
+
+		awaitSizeAtMost(cache, 5);
+	}
+
+	// Caffeine evicts during its asynchronous maintenance, shortly after the writes
+	private static void awaitSizeAtMost(VerifiedTokenCache cache, long size) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 5000;
+		while (cache.size() > size && System.currentTimeMillis() < deadline) {
+			cache.getIfPresent("poll"); // a read also triggers pending maintenance
+			Thread.sleep(10);
+		}
+		assertTrue(cache.size() <= size, "size " + cache.size());
+	}
+
+	private static VerifiedToken token(String subject, long expiresAt, List<String> authorities) {
+		return new VerifiedToken("id-" + subject, subject, new Date(), new Date(expiresAt), authorities);
+	}
+}
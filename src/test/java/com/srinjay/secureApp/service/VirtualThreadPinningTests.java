@@ -0,0 +1,129 @@
+package com.srinjay.secureApp.service;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.context.support.StaticApplicationContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.srinjay.secureApp.config.JwtFilter;
+import com.srinjay.secureApp.model.UserPrincipal;
+import com.srinjay.secureApp.model.Users;
+import com.srinjay.secureApp.repo.UserRepo;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * Runs the JwtFilter and MyUserDetailsService paths on virtual threads against a slow
+ * user lookup and fails if JFR reports a carrier thread pinned while blocked (e.g. a
+ * database call inside a synchronized block). Needs Java 21; skipped on older JVMs.
+ */
+@EnabledForJreRange(min = JRE.JAVA_21)
+class VirtualThreadPinningTests {
+
+	@Test
+	void authenticationPathDoesNotPinCarrierThreads() throws Exception {
+		AuthMetrics metrics = new AuthMetrics(new SimpleMeterRegistry());
+		MyUserDetailsService userDetailsService = new MyUserDetailsService(100, Duration.ofMinutes(5), 100,
+				Duration.ofSeconds(30), Set.of());
+		ReflectionTestUtils.setField(userDetailsService, "repo", slowUserRepo());
+		ReflectionTestUtils.setField(userDetailsService, "loginThrottle", new LoginThrottle(5, Duration.ofSeconds(10),
+				20, Duration.ofSeconds(1), 5, Duration.ofMinutes(15), 1000));
+		ReflectionTestUtils.setField(userDetailsService, "usernameFilter", new UsernameFilter(false, 1000, 0.01));
+		ReflectionTestUtils.setField(userDetailsService, "metrics", metrics);
+
+		StaticApplicationContext context = new StaticApplicationContext();
+		context.getBeanFactory().registerSingleton("userDetailsService", userDetailsService);
+		context.refresh();
+		JWTService jwtService = new JWTService();
+		JwtFilter filter = new JwtFilter();
+		ReflectionTestUtils.setField(filter, "jwtService", jwtService);
+		ReflectionTestUtils.setField(filter, "tokenCache", new VerifiedTokenCache(true, 1000, 1 << 20));
+		ReflectionTestUtils.setField(filter, "tokenRevocations",
+				new TokenRevocationService(new UserTokenDenylist(Duration.ofMinutes(10), 1000), null, 1000));
+		ReflectionTestUtils.setField(filter, "metrics", metrics);
+		ReflectionTestUtils.setField(filter, "context", context);
+
+		List<String> tokens = new ArrayList<>();
+		for (int i = 0; i < 10; i++) {
+			Users user = new Users();
+			user.setUsername("user" + i);
+			tokens.add(jwtService.generateToken(new UserPrincipal(user)));
+		}
+
+		Path file = Files.createTempFile("pinning", ".jfr");
+		try (Recording recording = new Recording()) {
+			recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO).withStackTrace();
+			recording.start();
+
+			// Many concurrent misses for the same few users: the cache must let them wait
+			// for one query without holding a monitor while it runs
+			ExecutorService executor = (ExecutorService) Executors.class
+					.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+			List<Future<?>> futures = new ArrayList<>();
+			for (int i = 0; i < 200; i++) {
+				String token = tokens.get(i % tokens.size());
+				futures.add(executor.submit(() -> {
+					MockHttpServletRequest request = new MockHttpServletRequest("GET", "/students");
+					request.addHeader("Authorization", "Bearer " + token);
+					try {
+						filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> { });
+						assertNotNull(SecurityContextHolder.getContext().getAuthentication());
+					} finally {
+						SecurityContextHolder.clearContext();
+					}
+					return null;
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+			executor.shutdown();
+			executor.awaitTermination(10, TimeUnit.SECONDS);
+
+			recording.stop();
+			recording.dump(file);
+		}
+		List<RecordedEvent> pinned = RecordingFile.readAllEvents(file);
+		Files.deleteIfExists(file);
+		assertTrue(pinned.isEmpty(), () -> "Carrier threads pinned:\n"
+				+ pinned.stream().map(event -> String.valueOf(event.getStackTrace())).collect(Collectors.joining("\n")));
+	}
+
+	// Blocks like a slow JDBC query; a proxy rather than a mock, so no test-framework locks are involved
+	private static UserRepo slowUserRepo() {
+		return (UserRepo) Proxy.newProxyInstance(UserRepo.class.getClassLoader(), new Class<?>[] { UserRepo.class },
+				(proxy, method, args) -> {
+					if (!method.getName().equals("findByUsername")) {
+						throw new UnsupportedOperationException(method.getName());
+					}
+					Thread.sleep(50);
+					Users user = new Users();
+					user.setUsername((String) args[0]);
+					user.setPassword("");
+					return user;
+				});
+	}
+}